@@ -0,0 +1,51 @@
+package com.example.hexagonal.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ *
+ * <p>Ejecuta los benchmarks seleccionados dos veces, con un hilo y con un hilo por
+ * procesador para medir la contención, y guarda cada ejecución en JSON para poder
+ * comparar resultados entre versiones:</p>
+ *
+ * <pre>java -jar benchmarks.jar [regex] [directorio]</pre>
+ *
+ * <p>Si el primer argumento empieza por "-", se delega en la línea de comandos de JMH.</p>
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (args.length > 0 && args[0].startsWith("-")) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        String include = args.length > 0 ? args[0] : ".*";
+        Path output = Paths.get(args.length > 1 ? args[1] : "jmh-results");
+        Files.createDirectories(output);
+        
+        int processors = Runtime.getRuntime().availableProcessors();
+        int[] threadCounts = processors > 1 ? new int[] {1, processors} : new int[] {1};
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(output.resolve("results-" + threads + "t.json").toString())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
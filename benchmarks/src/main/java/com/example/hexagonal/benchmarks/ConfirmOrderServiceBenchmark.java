@@ -0,0 +1,71 @@
+package com.example.hexagonal.benchmarks;
+
+import com.example.hexagonal.adapters.out.events.RingBufferOrderEventBus;
+import com.example.hexagonal.adapters.out.persistence.InMemoryCustomerStatsRepository;
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderRepository;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.application.services.ConfirmOrderService;
+import com.example.hexagonal.domain.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Confirmación de pedidos sobre {@link InMemoryOrderRepository}.
+ *
+ * <p>Un pedido confirmado ya no vuelve a escribirse, así que cada operación primero lo
+ * devuelve a pendiente; {@link #resetOnly()} mide ese paso por separado para poder
+ * restarlo. Con pool=1 todos los hilos compiten por el mismo pedido y se ve el coste de
+ * los conflictos de versión.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfirmOrderServiceBenchmark {
+    
+    @Param({"1", "65536"})
+    int pool;
+    
+    private InMemoryOrderRepository repository;
+    private ConfirmOrderService confirmOrderService;
+    private Order[] pending;
+    
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = new InMemoryOrderRepository();
+        confirmOrderService = new ConfirmOrderService(repository, new InMemoryCustomerStatsRepository(),
+                new RingBufferOrderEventBus(65536, new MetricsRegistry()));
+        pending = new Order[pool];
+        for (int i = 0; i < pool; i++) {
+            pending[i] = Order.create("customer-" + (i % 100), i);
+            repository.save(pending[i]);
+        }
+    }
+    
+    @Benchmark
+    public Order confirmOrder() {
+        Order order = pending[ThreadLocalRandom.current().nextInt(pool)];
+        repository.save(order);
+        return confirmOrderService.confirmOrder(order.getId());
+    }
+    
+    @Benchmark
+    public Order resetOnly() {
+        return repository.save(pending[ThreadLocalRandom.current().nextInt(pool)]);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.hexagonal.benchmarks;
+
+import com.example.hexagonal.adapters.out.events.RingBufferOrderEventBus;
+import com.example.hexagonal.adapters.out.persistence.InMemoryCustomerStatsRepository;
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderRepository;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.application.services.CreateOrderService;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderIdGenerator;
+import com.example.hexagonal.domain.model.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creación de pedidos de extremo a extremo y, por separado, cada uno de sus pasos
+ * (Order.create, generación del ID y LocalDateTime.now()) para ver qué parte domina.
+ * randomUuid se mantiene como referencia del generador de IDs anterior.
+ * El repositorio se renueva en cada iteración para que no crezca sin límite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class CreateOrderServiceBenchmark {
+    
+    private static final int CUSTOMERS = 1000;
+    private static final OrderIdGenerator ID_GENERATOR = TimeOrderedIdGenerator.forNode(0);
+    
+    private final String[] customers = new String[CUSTOMERS];
+    private CreateOrderService createOrderService;
+    
+    @Setup(Level.Trial)
+    public void prepareCustomers() {
+        for (int c = 0; c < CUSTOMERS; c++) {
+            customers[c] = "customer-" + c;
+        }
+    }
+    
+    @Setup(Level.Iteration)
+    public void freshRepository() {
+        createOrderService = new CreateOrderService(new InMemoryOrderRepository(), ID_GENERATOR,
+                new InMemoryCustomerStatsRepository(), new RingBufferOrderEventBus(65536, new MetricsRegistry()));
+    }
+    
+    @Benchmark
+    public Order createOrder() {
+        return createOrderService.createOrder(randomCustomer(), 100.0);
+    }
+    
+    @Benchmark
+    public Order orderCreate() {
+        return Order.create(randomCustomer(), 100.0);
+    }
+    
+    @Benchmark
+    public String timeOrderedId() {
+        return ID_GENERATOR.nextId();
+    }
+    
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+    
+    @Benchmark
+    public LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+    
+    private String randomCustomer() {
+        return customers[ThreadLocalRandom.current().nextInt(CUSTOMERS)];
+    }
+}
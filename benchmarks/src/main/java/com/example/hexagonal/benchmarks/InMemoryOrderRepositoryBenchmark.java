@@ -0,0 +1,95 @@
+package com.example.hexagonal.benchmarks;
+
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderRepository;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas y escrituras de {@link InMemoryOrderRepository} con el repositorio ya poblado.
+ * Cada cliente tiene {@link #ORDERS_PER_CUSTOMER} pedidos. El caso de 10M pedidos
+ * necesita varios GB de heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class InMemoryOrderRepositoryBenchmark {
+    
+    static final int ORDERS_PER_CUSTOMER = 10;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    
+    @Param({"10000", "1000000", "10000000"})
+    int orders;
+    
+    private InMemoryOrderRepository repository;
+    private String[] ids;
+    private String[] customers;
+    
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = new InMemoryOrderRepository();
+        customers = new String[Math.max(1, orders / ORDERS_PER_CUSTOMER)];
+        for (int c = 0; c < customers.length; c++) {
+            customers[c] = "customer-" + c;
+        }
+        ids = new String[orders];
+        for (int i = 0; i < orders; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            repository.save(orderAt(i));
+        }
+    }
+    
+    /**
+     * Sobrescribe un pedido existente con los mismos datos, de modo que el tamaño del
+     * repositorio no cambia durante la medición.
+     */
+    @Benchmark
+    public Order save() {
+        return repository.save(orderAt(random(orders)));
+    }
+    
+    @Benchmark
+    public Optional<Order> findById() {
+        return repository.findById(ids[random(orders)]);
+    }
+    
+    @Benchmark
+    public List<Order> findByCustomerId() {
+        return repository.findByCustomerId(customers[random(customers.length)]);
+    }
+    
+    private Order orderAt(int i) {
+        return Order.builder()
+                .id(ids[i])
+                .customerId(customers[i % customers.length])
+                .total(i)
+                .status(OrderStatus.PENDING)
+                .createdAt(BASE.plusSeconds(i))
+                .build();
+    }
+    
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.hexagonal.benchmarks;
+
+import com.example.hexagonal.adapters.in.web.OrderBinaryFormat;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON con el formato binario de la API para los dos mensajes del camino
+ * caliente: la petición de creación (lectura) y el pedido devuelto (escritura y lectura).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderWireFormatBenchmark {
+    
+    /**
+     * Misma forma que la petición de creación del controlador, que no es pública.
+     */
+    public static class CreateOrderPayload {
+        public String customerId;
+        public double total;
+    }
+    
+    private ObjectMapper objectMapper;
+    private Order order;
+    private byte[] orderJson;
+    private byte[] orderBinary;
+    private byte[] createJson;
+    private byte[] createBinary;
+    
+    @Setup(Level.Trial)
+    public void prepare() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        order = Order.create("customer-1", 100.0);
+        orderJson = objectMapper.writeValueAsBytes(order);
+        orderBinary = OrderBinaryFormat.encodeOrder(order);
+        CreateOrderPayload payload = new CreateOrderPayload();
+        payload.customerId = "customer-1";
+        payload.total = 100.0;
+        createJson = objectMapper.writeValueAsBytes(payload);
+        createBinary = OrderBinaryFormat.encodeCreateOrder(new CreateOrderCommand("customer-1", 100.0));
+    }
+    
+    @Benchmark
+    public byte[] jsonWriteOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+    
+    @Benchmark
+    public byte[] binaryWriteOrder() {
+        return OrderBinaryFormat.encodeOrder(order);
+    }
+    
+    @Benchmark
+    public Order jsonReadOrder() throws IOException {
+        return objectMapper.readValue(orderJson, Order.class);
+    }
+    
+    @Benchmark
+    public Order binaryReadOrder() throws IOException {
+        return OrderBinaryFormat.decodeOrder(orderBinary);
+    }
+    
+    @Benchmark
+    public CreateOrderPayload jsonReadCreateOrder() throws IOException {
+        return objectMapper.readValue(createJson, CreateOrderPayload.class);
+    }
+    
+    @Benchmark
+    public CreateOrderCommand binaryReadCreateOrder() throws IOException {
+        return OrderBinaryFormat.decodeCreateOrder(createBinary);
+    }
+}
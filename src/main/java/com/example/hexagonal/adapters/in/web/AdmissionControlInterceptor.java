@@ -0,0 +1,54 @@
+package com.example.hexagonal.adapters.in.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Rechaza con 503 y Retry-After las escrituras que no caben en el límite de concurrencia,
+ * antes de que lleguen al controlador, en lugar de dejarlas esperando en la cola de Tomcat.
+ * Las lecturas pasan siempre. Las respuestas 5xx cuentan como error para el límite.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    
+    private final AimdConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final String startAttribute;
+    
+    /**
+     * @param budget Nombre del presupuesto, para distinguir los interceptores de cada uno
+     * @param retryAfterSeconds Segundos que se indican al cliente en Retry-After
+     */
+    public AdmissionControlInterceptor(String budget, AimdConcurrencyLimiter limiter, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfterSeconds));
+        this.startAttribute = AdmissionControlInterceptor.class.getName() + "." + budget + ".start";
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(startAttribute, System.nanoTime());
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(startAttribute);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(startAttribute);
+        limiter.release((Long) start, ex != null || response.getStatus() >= 500);
+    }
+}
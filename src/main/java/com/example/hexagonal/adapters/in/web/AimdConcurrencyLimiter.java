@@ -0,0 +1,109 @@
+package com.example.hexagonal.adapters.in.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite adaptativo de peticiones concurrentes con AIMD (aumento aditivo, disminución
+ * multiplicativa) a partir de la latencia medida de cada respuesta.
+ *
+ * <p>Mientras las respuestas tardan menos que el umbral y se está usando al menos la mitad
+ * del límite, este crece en uno por cada límite completo de respuestas. Si una respuesta
+ * supera el umbral o falla, el límite se multiplica por el factor de reducción, como mucho
+ * una vez por umbral de tiempo para que una ráfaga de respuestas lentas cuente como una
+ * sola señal. El límite se mantiene entre el mínimo y el máximo configurados.</p>
+ *
+ * <p>Admitir una petición solo toca el contador de peticiones en curso; el ajuste del
+ * límite se serializa al terminar cada una.</p>
+ */
+public class AimdConcurrencyLimiter {
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double exactLimit;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+    
+    /**
+     * @param initialLimit Límite de partida
+     * @param latencyThreshold Latencia a partir de la cual una respuesta reduce el límite
+     * @param backoffRatio Factor por el que se multiplica el límite al reducirlo, entre 0 y 1
+     */
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                  double backoffRatio) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit
+                || latencyThreshold.isNegative() || latencyThreshold.isZero()
+                || !(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException("Invalid admission settings: initial=" + initialLimit
+                    + ", min=" + minLimit + ", max=" + maxLimit + ", latency=" + latencyThreshold
+                    + ", backoff=" + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.exactLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+    
+    /**
+     * Admite la petición si hay hueco en el límite actual.
+     * 
+     * @return true si se admite; en ese caso debe llamarse a {@link #release(long, boolean)} al terminar
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Libera una petición admitida y ajusta el límite con su latencia.
+     * 
+     * @param startNanos Instante de {@link System#nanoTime()} en que se admitió
+     * @param failed Si la petición terminó en error del servidor
+     */
+    public void release(long startNanos, boolean failed) {
+        long now = System.nanoTime();
+        onResponse(now - startNanos, failed, now);
+    }
+    
+    synchronized void onResponse(long latencyNanos, boolean failed, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            if (!decreased || nowNanos - lastDecreaseNanos >= latencyThresholdNanos) {
+                exactLimit = Math.max(minLimit, exactLimit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+                decreased = true;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            exactLimit = Math.min(maxLimit, exactLimit + 1.0 / exactLimit);
+        }
+        limit = (int) exactLimit;
+    }
+    
+    public int limit() {
+        return limit;
+    }
+    
+    public int inFlight() {
+        return inFlight.get();
+    }
+    
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.AsyncConfirmOrderUseCase;
+import com.example.hexagonal.domain.ports.in.AsyncCreateOrderUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Adaptador primario que expone los casos de uso asíncronos a través de una API REST.
+ * Los métodos devuelven un CompletableFuture, de modo que el hilo de Tomcat queda libre
+ * mientras el pedido se persiste y la respuesta se escribe cuando el futuro se completa.
+ */
+@RestController
+@RequestMapping("/api/async/orders")
+@RequiredArgsConstructor
+public class AsyncOrderController {
+    
+    private final AsyncCreateOrderUseCase asyncCreateOrderUseCase;
+    private final AsyncConfirmOrderUseCase asyncConfirmOrderUseCase;
+    
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Order>> createOrder(@RequestBody OrderController.CreateOrderRequest request) {
+        return asyncCreateOrderUseCase.createOrderAsync(request.getCustomerId(), request.getTotal())
+                .thenApply(order -> new ResponseEntity<>(order, HttpStatus.CREATED))
+                .exceptionally(AsyncOrderController::toErrorResponse);
+    }
+    
+    @PostMapping("/{orderId}/confirm")
+    public CompletableFuture<ResponseEntity<Order>> confirmOrder(@PathVariable String orderId) {
+        return asyncConfirmOrderUseCase.confirmOrderAsync(orderId)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(AsyncOrderController::toErrorResponse);
+    }
+    
+    // Traduce los mismos errores que OrderController; el resto se propaga como error del servidor
+    private static ResponseEntity<Order> toErrorResponse(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (cause instanceof NoSuchElementException) {
+            return ResponseEntity.notFound().build();
+        }
+        if (cause instanceof ConcurrentModificationException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(cause);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.domain.model.CustomerOrderStats;
+import com.example.hexagonal.domain.ports.in.GetCustomerStatsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Adaptador primario que expone las estadísticas de pedidos por cliente.
+ */
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+public class CustomerStatsController {
+    
+    private final GetCustomerStatsUseCase getCustomerStatsUseCase;
+    
+    @GetMapping("/{customerId}/stats")
+    public ResponseEntity<CustomerOrderStats> getCustomerStats(@PathVariable String customerId) {
+        try {
+            return ResponseEntity.ok(getCustomerStatsUseCase.getCustomerStats(customerId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.application.metrics.MetricSnapshot;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptador primario que expone las métricas de latencia de cada capa:
+ * peticiones HTTP, casos de uso y repositorio, junto con los indicadores registrados.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @GetMapping
+    public List<MetricSnapshot> metrics() {
+        return metricsRegistry.snapshot();
+    }
+    
+    @GetMapping("/gauges")
+    public Map<String, Long> gauges() {
+        return metricsRegistry.gauges();
+    }
+}
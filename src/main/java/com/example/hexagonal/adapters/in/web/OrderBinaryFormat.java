@@ -0,0 +1,126 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formato binario compacto de la API de pedidos para clientes internos de alto volumen,
+ * negociado con el tipo {@value #MEDIA_TYPE_VALUE} en Content-Type y Accept.
+ *
+ * <p>Todos los campos son big-endian y de ancho fijo salvo las cadenas, que llevan
+ * delante su longitud en 2 bytes (UTF-8 modificado de {@link DataOutput#writeUTF}).
+ * Cada mensaje empieza con un byte de versión del formato.</p>
+ *
+ * <pre>
+ * Petición de creación: versión(1) customerId(2+n) total(8)
+ * Pedido:               versión(1) id(2+n) customerId(2+n) total(8) estado(1)
+ *                       createdAt segundos(8) nanos(4) version(8)
+ * </pre>
+ *
+ * <p>El estado es el ordinal de {@link OrderStatus} o -1 si no tiene; una fecha de
+ * creación nula se codifica con segundos = Long.MIN_VALUE. Las fechas son UTC.</p>
+ */
+public final class OrderBinaryFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-order-binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final byte FORMAT_V1 = 1;
+    private static final byte NO_STATUS = -1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderBinaryFormat() {
+    }
+
+    public static byte[] encodeOrder(Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeOrder(out, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Order decodeOrder(byte[] message) throws IOException {
+        return readOrder(new DataInputStream(new ByteArrayInputStream(message)));
+    }
+
+    public static byte[] encodeCreateOrder(CreateOrderCommand command) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeCreateOrder(out, command);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CreateOrderCommand decodeCreateOrder(byte[] message) throws IOException {
+        return readCreateOrder(new DataInputStream(new ByteArrayInputStream(message)));
+    }
+
+    static void writeOrder(DataOutput out, Order order) throws IOException {
+        out.writeByte(FORMAT_V1);
+        out.writeUTF(order.getId());
+        out.writeUTF(order.getCustomerId());
+        out.writeDouble(order.getTotal());
+        out.writeByte(order.getStatus() != null ? order.getStatus().ordinal() : NO_STATUS);
+        LocalDateTime createdAt = order.getCreatedAt();
+        out.writeLong(createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP);
+        out.writeInt(createdAt != null ? createdAt.getNano() : 0);
+        out.writeLong(order.getVersion());
+    }
+
+    static Order readOrder(DataInput in) throws IOException {
+        checkFormat(in.readByte());
+        Order.OrderBuilder builder = Order.builder()
+                .id(in.readUTF())
+                .customerId(in.readUTF())
+                .total(in.readDouble());
+        byte status = in.readByte();
+        if (status != NO_STATUS) {
+            if (status < 0 || status >= STATUSES.length) {
+                throw new IOException("Unknown order status: " + status);
+            }
+            builder.status(STATUSES[status]);
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        if (seconds != NO_TIMESTAMP) {
+            builder.createdAt(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        }
+        return builder.version(in.readLong()).build();
+    }
+
+    static void writeCreateOrder(DataOutput out, CreateOrderCommand command) throws IOException {
+        out.writeByte(FORMAT_V1);
+        out.writeUTF(command.getCustomerId() != null ? command.getCustomerId() : "");
+        out.writeDouble(command.getTotal());
+    }
+
+    static CreateOrderCommand readCreateOrder(DataInput in) throws IOException {
+        checkFormat(in.readByte());
+        return new CreateOrderCommand(in.readUTF(), in.readDouble());
+    }
+
+    private static void checkFormat(byte format) throws IOException {
+        if (format != FORMAT_V1) {
+            throw new IOException("Unsupported order wire format: " + format);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Convierte pedidos y peticiones de creación de pedido a y desde {@link OrderBinaryFormat}.
+ * Se registra detrás del conversor JSON, de modo que JSON sigue siendo el formato por
+ * defecto y el binario solo se usa cuando el cliente lo pide explícitamente.
+ */
+public class OrderBinaryHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public OrderBinaryHttpMessageConverter() {
+        super(OrderBinaryFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Order.class || clazz == OrderController.CreateOrderRequest.class;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        DataInputStream in = new DataInputStream(inputMessage.getBody());
+        try {
+            if (clazz == Order.class) {
+                return OrderBinaryFormat.readOrder(in);
+            }
+            CreateOrderCommand command = OrderBinaryFormat.readCreateOrder(in);
+            OrderController.CreateOrderRequest request = new OrderController.CreateOrderRequest();
+            request.setCustomerId(command.getCustomerId());
+            request.setTotal(command.getTotal());
+            return request;
+        } catch (IOException e) {
+            // Mensaje truncado o de otra versión: es un error del cliente, no del servidor
+            throw new HttpMessageNotReadableException("Invalid " + OrderBinaryFormat.MEDIA_TYPE_VALUE + " message: "
+                    + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputMessage.getBody());
+        if (value instanceof Order) {
+            OrderBinaryFormat.writeOrder(out, (Order) value);
+        } else {
+            OrderController.CreateOrderRequest request = (OrderController.CreateOrderRequest) value;
+            OrderBinaryFormat.writeCreateOrder(out, new CreateOrderCommand(request.getCustomerId(), request.getTotal()));
+        }
+        out.flush();
+    }
+}
@@ -1,14 +1,36 @@
 package com.example.hexagonal.adapters.in.web;
 
+import com.example.hexagonal.domain.model.BatchItemResult;
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderTransition;
+import com.example.hexagonal.domain.model.OrderViewPage;
+import com.example.hexagonal.domain.ports.in.BulkOrderTransitionUseCase;
 import com.example.hexagonal.domain.ports.in.ConfirmOrderUseCase;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
 import com.example.hexagonal.domain.ports.in.CreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.ExportOrdersUseCase;
+import com.example.hexagonal.domain.ports.in.IdempotentCreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.QueryOrdersUseCase;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adaptador primario que expone los casos de uso a través de una API REST.
@@ -18,16 +40,104 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
     
+    static final String NDJSON = "application/x-ndjson";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
     private final CreateOrderUseCase createOrderUseCase;
+    private final IdempotentCreateOrderUseCase idempotentCreateOrderUseCase;
     private final ConfirmOrderUseCase confirmOrderUseCase;
+    private final QueryOrdersUseCase queryOrdersUseCase;
+    private final BulkOrderTransitionUseCase bulkOrderTransitionUseCase;
+    private final ExportOrdersUseCase exportOrdersUseCase;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Lista los pedidos desde el modelo de lectura, que puede ir por detrás de las últimas
+     * escrituras; el campo asOf de la página indica hasta cuándo está al día.
+     */
+    @GetMapping
+    public ResponseEntity<OrderViewPage> listOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(queryOrdersUseCase.listOrders(status, customerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Exporta los pedidos como JSON delimitado por saltos de línea, un pedido por línea.
+     * Se escriben según se leen del repositorio a través de un búfer fijo, sin longitud
+     * conocida, así que la respuesta va en chunks y la memoria no crece con el número de
+     * pedidos. Las escrituras bloquean mientras el cliente no consume, de modo que un
+     * cliente lento frena la lectura en lugar de acumular pedidos en memoria.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+        Stream<Order> orders;
+        try {
+            orders = exportOrdersUseCase.exportOrders(status, from, to);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        // Sin volcar tras cada pedido: el generador solo escribe cuando se llena su búfer
+        ObjectWriter writer = objectMapper.writerFor(Order.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Order> exported = orders;
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            Iterator<Order> iterator = exported.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
     
+    /**
+     * Crea un pedido. Con la cabecera Idempotency-Key los reintentos con la misma clave
+     * devuelven el pedido ya creado; reutilizar la clave con otros datos se rechaza, y si
+     * el pedido de la clave ya no existe el reintento termina en conflicto.
+     */
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody CreateOrderRequest request) {
-        Order order = createOrderUseCase.createOrder(
-                request.getCustomerId(),
-                request.getTotal()
-        );
-        return new ResponseEntity<>(order, HttpStatus.CREATED);
+    public ResponseEntity<Order> createOrder(
+            @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        try {
+            Order order = idempotencyKey == null
+                    ? createOrderUseCase.createOrder(request.getCustomerId(), request.getTotal())
+                    : idempotentCreateOrderUseCase.createOrder(idempotencyKey, request.getCustomerId(),
+                            request.getTotal());
+            return new ResponseEntity<>(order, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        List<CreateOrderCommand> commands = requests.stream()
+                .map(request -> new CreateOrderCommand(request.getCustomerId(), request.getTotal()))
+                .collect(Collectors.toList());
+        try {
+            return ResponseEntity.ok(createOrderUseCase.createOrders(commands));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PostMapping("/{orderId}/confirm")
@@ -39,6 +149,23 @@ public class OrderController {
             return ResponseEntity.badRequest().build();
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConcurrentModificationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PostMapping("/bulk-transition")
+    public ResponseEntity<List<BatchItemResult>> transitionOrders(@RequestBody BulkTransitionRequest request) {
+        if (request.getOrderIds() == null || request.getTransition() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bulkOrderTransitionUseCase.transitionOrders(
+                    request.getOrderIds(),
+                    request.getTransition()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
     
@@ -48,4 +175,11 @@ public class OrderController {
         private String customerId;
         private double total;
     }
+    
+    // Clase interna para la solicitud de cambio de estado en bloque
+    @lombok.Data
+    static class BulkTransitionRequest {
+        private List<String> orderIds;
+        private OrderTransition transition;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Mide cada petición HTTP, agrupada por método y patrón de ruta (no por URL concreta,
+ * para que los IDs no multipliquen las métricas). Las respuestas 5xx cuentan como error.
+ */
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+    
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String name = "http " + request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+        boolean failed = ex != null || response.getStatus() >= 500;
+        metricsRegistry.method(name).record((Long) start, failed);
+    }
+}
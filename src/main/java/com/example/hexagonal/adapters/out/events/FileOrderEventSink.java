@@ -0,0 +1,98 @@
+package com.example.hexagonal.adapters.out.events;
+
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.events.SequencedOrderEvent;
+import com.example.hexagonal.domain.ports.out.OrderEventSink;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Adaptador secundario que entrega los eventos del outbox anexándolos a un fichero local
+ * como JSON delimitado por saltos de línea, un evento por línea. Hace de sustituto de un
+ * broker de mensajes: cada lote se escribe con una sola escritura y un fsync antes de
+ * confirmarse, y si la escritura falla el fichero se trunca para no dejar líneas a medias.
+ *
+ * <p>Como la entrega es al menos una vez, una secuencia puede aparecer más de una vez
+ * en el fichero; los lectores deben quedarse con la primera.</p>
+ */
+public class FileOrderEventSink implements OrderEventSink, Closeable {
+    
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final FileChannel channel;
+    
+    public FileOrderEventSink(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order event file " + file, e);
+        }
+    }
+    
+    @Override
+    public synchronized void send(List<SequencedOrderEvent> events) {
+        ByteBuffer lines = ByteBuffer.wrap(encode(events));
+        long start;
+        try {
+            start = channel.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            while (lines.hasRemaining()) {
+                channel.write(lines);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw new UncheckedIOException("Could not write " + events.size() + " order events", e);
+        }
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+    
+    private byte[] encode(List<SequencedOrderEvent> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(events.size() * 160);
+        try (JsonGenerator generator = jsonFactory.createGenerator(bytes)) {
+            generator.setRootValueSeparator(null);
+            for (SequencedOrderEvent sequenced : events) {
+                OrderEvent event = sequenced.getEvent();
+                generator.writeStartObject();
+                generator.writeNumberField("sequence", sequenced.getSequence());
+                generator.writeStringField("type", event.getClass().getSimpleName());
+                generator.writeStringField("orderId", event.getOrderId());
+                generator.writeStringField("customerId", event.getCustomerId());
+                generator.writeNumberField("total", event.getTotal());
+                generator.writeStringField("occurredAt", event.getOccurredAt().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
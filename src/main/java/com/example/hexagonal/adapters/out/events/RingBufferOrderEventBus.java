@@ -0,0 +1,308 @@
+package com.example.hexagonal.adapters.out.events;
+
+import com.example.hexagonal.application.metrics.MethodMetrics;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador secundario que reparte los eventos de pedidos entre suscriptores del mismo
+ * proceso a través de un buffer circular acotado y sin locks.
+ *
+ * <p>Publicar reserva una posición con un incremento atómico y escribe el evento en su
+ * hueco, sin esperar nunca a los suscriptores: si el buffer da la vuelta, el evento más
+ * antiguo se sobrescribe. Cada suscriptor tiene su propio hilo y su propio cursor, así que
+ * uno lento no retrasa a los demás; cuando se queda más de una vuelta por detrás, salta al
+ * evento más antiguo disponible y cuenta los que ha perdido.</p>
+ *
+ * <p>Cada hueco guarda la secuencia del evento que contiene. El publicador la marca como
+ * en escritura antes de tocar el hueco, y el suscriptor la comprueba antes y después de
+ * leerlo, de modo que nunca entrega un evento que se sobrescribió mientras lo leía.</p>
+ *
+ * <p>Un suscriptor sin eventos primero gira y después se duerme con esperas que se
+ * duplican hasta un máximo, avisando antes de dormirse; publicar despierta a los
+ * suscriptores dormidos, así que la espera larga no retrasa el siguiente evento.</p>
+ *
+ * <p>Por cada suscriptor se publican como indicadores los eventos entregados, fallidos y
+ * perdidos y el retraso respecto al último publicado, y como métrica la duración de cada
+ * entrega.</p>
+ */
+@Slf4j
+public class RingBufferOrderEventBus implements OrderEventPublisher, AutoCloseable {
+    
+    private static final long WRITING = -1;
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<OrderEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final MetricsRegistry metricsRegistry;
+    
+    /**
+     * @param capacity Número de eventos que caben en el buffer; debe ser potencia de dos
+     */
+    public RingBufferOrderEventBus(int capacity, MetricsRegistry metricsRegistry) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Event buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, WRITING);
+        }
+        this.metricsRegistry = metricsRegistry;
+        metricsRegistry.gauge("events.published", this::published);
+    }
+    
+    @Override
+    public void publish(OrderEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) sequence & mask;
+        sequences.set(index, WRITING);
+        slots.set(index, event);
+        sequences.set(index, sequence);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.sleeping) {
+                LockSupport.unpark(subscription.dispatcher);
+            }
+        }
+    }
+    
+    /**
+     * Registra un suscriptor que recibirá, en su propio hilo y en orden de publicación,
+     * los eventos publicados a partir de ahora. Las excepciones del manejador se registran
+     * y se cuentan, pero no detienen la entrega.
+     * 
+     * @param name Nombre del suscriptor, usado en el hilo y en las métricas
+     * @param handler Manejador de cada evento
+     * @return La suscripción, que se puede cerrar para dejar de recibir eventos
+     */
+    public Subscription subscribe(String name, Consumer<OrderEvent> handler) {
+        return subscribe(name, handler, () -> { });
+    }
+    
+    /**
+     * Como {@link #subscribe(String, Consumer)}, avisando en el hilo del suscriptor cada
+     * vez que pierde eventos, para que pueda resincronizarse por otra vía.
+     * 
+     * @param onGap Acción que se ejecuta tras perder uno o más eventos
+     */
+    public Subscription subscribe(String name, Consumer<OrderEvent> handler, Runnable onGap) {
+        Subscription subscription = new Subscription(name, handler, onGap, nextSequence.get());
+        subscriptions.add(subscription);
+        String prefix = "events." + name + ".";
+        metricsRegistry.gauge(prefix + "delivered", subscription::delivered);
+        metricsRegistry.gauge(prefix + "failed", subscription::failed);
+        metricsRegistry.gauge(prefix + "dropped", subscription::dropped);
+        metricsRegistry.gauge(prefix + "lag", subscription::lag);
+        subscription.start();
+        return subscription;
+    }
+    
+    /**
+     * Eventos publicados desde el arranque.
+     */
+    public long published() {
+        return nextSequence.get();
+    }
+    
+    /**
+     * Entrega a cada suscriptor los eventos ya publicados y detiene sus hilos.
+     */
+    @Override
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+    
+    /**
+     * Suscriptor del bus, con su cursor y sus contadores. Solo su hilo los modifica.
+     */
+    public final class Subscription implements AutoCloseable {
+        
+        private final String name;
+        private final Consumer<OrderEvent> handler;
+        private final Runnable onGap;
+        private final MethodMetrics dispatch;
+        private final Thread dispatcher;
+        private volatile long cursor;
+        private volatile long delivered;
+        private volatile long failed;
+        private volatile long dropped;
+        private volatile boolean closed;
+        private volatile boolean sleeping;
+        private long droppedBeforeGap;
+        
+        private Subscription(String name, Consumer<OrderEvent> handler, Runnable onGap, long cursor) {
+            this.name = name;
+            this.handler = handler;
+            this.onGap = onGap;
+            this.cursor = cursor;
+            this.dispatch = metricsRegistry.method("OrderEventBus." + name + ".dispatch");
+            this.dispatcher = new Thread(this::dispatchLoop, "order-events-" + name);
+            dispatcher.setDaemon(true);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public long delivered() {
+            return delivered;
+        }
+        
+        public long failed() {
+            return failed;
+        }
+        
+        /**
+         * Eventos que el buffer sobrescribió antes de que este suscriptor los leyera.
+         */
+        public long dropped() {
+            return dropped;
+        }
+        
+        /**
+         * Eventos publicados que este suscriptor todavía no ha procesado; cero una vez cerrado.
+         */
+        public long lag() {
+            return closed ? 0 : Math.max(0, nextSequence.get() - cursor);
+        }
+        
+        /**
+         * Deja de recibir eventos después de procesar los ya publicados.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            if (Thread.currentThread() == dispatcher) {
+                return;
+            }
+            LockSupport.unpark(dispatcher);
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        private void start() {
+            dispatcher.start();
+        }
+        
+        private void dispatchLoop() {
+            int idle = 0;
+            long parkNanos = IDLE_PARK_NANOS;
+            long stopAt = Long.MAX_VALUE;
+            while (cursor < stopAt) {
+                if (closed && stopAt == Long.MAX_VALUE) {
+                    stopAt = nextSequence.get();
+                    continue;
+                }
+                if (poll()) {
+                    idle = 0;
+                    parkNanos = IDLE_PARK_NANOS;
+                    if (dropped != droppedBeforeGap) {
+                        droppedBeforeGap = dropped;
+                        notifyGap();
+                    }
+                } else if (closed && idle >= 2 * SPINS_BEFORE_PARK) {
+                    // Un publicador no llegó a escribir su hueco; al cerrar no se espera más por él
+                    dropped += stopAt - cursor;
+                    cursor = stopAt;
+                } else if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    // Se avisa antes de comprobar por última vez, para que un evento publicado
+                    // entretanto o bien se vea aquí o bien despierte al hilo
+                    sleeping = true;
+                    if (cursor >= nextSequence.get() && !closed) {
+                        LockSupport.parkNanos(parkNanos);
+                        parkNanos = Math.min(parkNanos * 2, MAX_IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                }
+            }
+        }
+        
+        /**
+         * Intenta avanzar el cursor un evento.
+         * 
+         * @return false si no hay ningún evento listo para este suscriptor
+         */
+        private boolean poll() {
+            long sequence = cursor;
+            long head = nextSequence.get();
+            if (sequence >= head) {
+                return false;
+            }
+            if (head - sequence > capacity) {
+                // Más de una vuelta por detrás: todo lo anterior ya se ha sobrescrito
+                long oldest = head - capacity;
+                dropped += oldest - sequence;
+                cursor = oldest;
+                return true;
+            }
+            int index = (int) sequence & mask;
+            long published = sequences.get(index);
+            if (published < sequence) {
+                // Reservado pero todavía en escritura
+                return false;
+            }
+            if (published == sequence) {
+                OrderEvent event = slots.get(index);
+                if (sequences.get(index) == sequence) {
+                    deliver(event);
+                    cursor = sequence + 1;
+                    return true;
+                }
+            }
+            // Sobrescrito por un publicador de la vuelta siguiente
+            dropped++;
+            cursor = sequence + 1;
+            return true;
+        }
+        
+        private void notifyGap() {
+            try {
+                onGap.run();
+            } catch (RuntimeException e) {
+                log.warn("Event subscriber {} failed to handle lost events", name, e);
+            }
+        }
+        
+        private void deliver(OrderEvent event) {
+            long start = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                handler.accept(event);
+                succeeded = true;
+                delivered++;
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Event subscriber {} failed to handle {}", name, event, e);
+            } finally {
+                dispatch.record(start, !succeeded);
+            }
+        }
+    }
+}
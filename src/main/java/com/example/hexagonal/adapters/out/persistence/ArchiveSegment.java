@@ -0,0 +1,345 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segmento inmutable del archivo de pedidos.
+ *
+ * <p>Los pedidos se guardan ordenados por ID en bloques comprimidos con Deflate. Al final
+ * del fichero va un índice disperso con el primer ID, la posición, el tamaño y el CRC de
+ * cada bloque, el rango de fechas de creación y dos filtros de Bloom, uno de IDs y otro
+ * de clientes. Al abrir el segmento solo se carga ese pie en memoria: buscar un ID lee y
+ * descomprime como mucho un bloque, y los filtros evitan leer nada cuando el ID o el
+ * cliente no están en el segmento.</p>
+ *
+ * <p>El fichero se escribe aparte, se sincroniza y se mueve a su nombre definitivo, así
+ * que un segmento con ese nombre está siempre completo.</p>
+ */
+final class ArchiveSegment implements Closeable {
+
+    private static final int MAGIC = 0x4F524441;
+    private static final byte FORMAT_V1 = 1;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final String[] firstIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] rawLengths;
+    private final int[] checksums;
+    private final String lastId;
+    private final LocalDateTime minCreatedAt;
+    private final LocalDateTime maxCreatedAt;
+    private final BloomFilter ids;
+    private final BloomFilter customers;
+    private final long size;
+
+    private ArchiveSegment(Path path, FileChannel channel, DataInputStream footer) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        int blocks = footer.readInt();
+        this.firstIds = new String[blocks];
+        this.offsets = new long[blocks];
+        this.lengths = new int[blocks];
+        this.rawLengths = new int[blocks];
+        this.checksums = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            firstIds[i] = footer.readUTF();
+            offsets[i] = footer.readLong();
+            lengths[i] = footer.readInt();
+            rawLengths[i] = footer.readInt();
+            checksums[i] = footer.readInt();
+        }
+        this.lastId = footer.readUTF();
+        this.minCreatedAt = readDateTime(footer);
+        this.maxCreatedAt = readDateTime(footer);
+        this.ids = BloomFilter.readFrom(footer);
+        this.customers = BloomFilter.readFrom(footer);
+        this.size = footer.readLong();
+    }
+
+    /**
+     * Escribe un segmento con los pedidos indicados y lo abre.
+     *
+     * @param orders Pedidos ordenados por ID, sin repetidos
+     * @param blockSize Número de pedidos por bloque comprimido
+     */
+    static ArchiveSegment write(Path target, List<Order> orders, int blockSize) throws IOException {
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("An archive segment needs at least one order");
+        }
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        BloomFilter ids = BloomFilter.create(orders.size(), BloomFilter.DEFAULT_BITS_PER_KEY);
+        BloomFilter customers = BloomFilter.create(orders.size(), BloomFilter.DEFAULT_BITS_PER_KEY);
+        LocalDateTime minCreatedAt = null;
+        LocalDateTime maxCreatedAt = null;
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        int blocks = (orders.size() + blockSize - 1) / blockSize;
+        indexOut.writeInt(blocks);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1).putInt(MAGIC).put(FORMAT_V1);
+            writeFully(out, header.flip());
+            for (int from = 0; from < orders.size(); from += blockSize) {
+                List<Order> block = orders.subList(from, Math.min(orders.size(), from + blockSize));
+                ByteArrayOutputStream raw = new ByteArrayOutputStream(block.size() * 64);
+                try (DataOutputStream rawOut = new DataOutputStream(raw)) {
+                    rawOut.writeInt(block.size());
+                    for (Order order : block) {
+                        OrderRecordCodec.write(rawOut, order);
+                        ids.add(order.getId());
+                        customers.add(order.getCustomerId());
+                        LocalDateTime createdAt = order.getCreatedAt();
+                        if (createdAt != null) {
+                            minCreatedAt = minCreatedAt == null || createdAt.isBefore(minCreatedAt) ? createdAt : minCreatedAt;
+                            maxCreatedAt = maxCreatedAt == null || createdAt.isAfter(maxCreatedAt) ? createdAt : maxCreatedAt;
+                        }
+                    }
+                }
+                byte[] compressed = deflate(deflater, raw.toByteArray());
+                CRC32 crc = new CRC32();
+                crc.update(compressed);
+                indexOut.writeUTF(block.get(0).getId());
+                indexOut.writeLong(out.position());
+                indexOut.writeInt(compressed.length);
+                indexOut.writeInt(raw.size());
+                indexOut.writeInt((int) crc.getValue());
+                writeFully(out, ByteBuffer.wrap(compressed));
+            }
+            indexOut.writeUTF(orders.get(orders.size() - 1).getId());
+            writeDateTime(indexOut, minCreatedAt);
+            writeDateTime(indexOut, maxCreatedAt);
+            ids.writeTo(indexOut);
+            customers.writeTo(indexOut);
+            indexOut.writeLong(orders.size());
+            indexOut.flush();
+            long footerOffset = out.position();
+            CRC32 crc = new CRC32();
+            crc.update(index.toByteArray());
+            writeFully(out, ByteBuffer.wrap(index.toByteArray()));
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES)
+                    .putLong(footerOffset)
+                    .putInt((int) crc.getValue())
+                    .putInt(MAGIC);
+            writeFully(out, trailer.flip());
+            out.force(true);
+        } finally {
+            deflater.end();
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return open(target);
+    }
+
+    /**
+     * Abre un segmento ya escrito, cargando solo su pie.
+     *
+     * @throws IOException si el fichero no es un segmento o su pie está dañado
+     */
+    static ArchiveSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < Integer.BYTES + 1 + TRAILER_BYTES) {
+                throw new IOException("Archive segment too short: " + path);
+            }
+            ByteBuffer trailer = readFully(channel, fileSize - TRAILER_BYTES, TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            int checksum = trailer.getInt();
+            if (trailer.getInt() != MAGIC || footerOffset <= 0 || footerOffset > fileSize - TRAILER_BYTES) {
+                throw new IOException("Invalid archive segment trailer: " + path);
+            }
+            byte[] footer = readFully(channel, footerOffset, (int) (fileSize - TRAILER_BYTES - footerOffset)).array();
+            CRC32 crc = new CRC32();
+            crc.update(footer);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Corrupted archive segment footer: " + path);
+            }
+            return new ArchiveSegment(path, channel, new DataInputStream(new ByteArrayInputStream(footer)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Si el pedido puede estar en el segmento, según el rango de IDs y el filtro de Bloom.
+     */
+    boolean mightContainId(String id) {
+        return id.compareTo(firstIds[0]) >= 0 && id.compareTo(lastId) <= 0 && ids.mightContain(id);
+    }
+
+    boolean mightContainCustomer(String customerId) {
+        return customers.mightContain(customerId);
+    }
+
+    /**
+     * Si algún pedido del segmento se creó dentro del intervalo.
+     */
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return minCreatedAt != null && !maxCreatedAt.isBefore(from) && !minCreatedAt.isAfter(to);
+    }
+
+    /**
+     * Busca el pedido en el único bloque que puede contenerlo.
+     */
+    Optional<Order> findById(String id) {
+        int block = Arrays.binarySearch(firstIds, id);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        if (block < 0) {
+            return Optional.empty();
+        }
+        for (Order order : readBlock(block)) {
+            if (order.getId().equals(id)) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Recorre los pedidos en orden de ID, descomprimiendo un bloque cada vez.
+     */
+    Stream<Order> stream() {
+        return IntStream.range(0, firstIds.length)
+                .mapToObj(this::readBlock)
+                .flatMap(List::stream);
+    }
+
+    long size() {
+        return size;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<Order> readBlock(int block) {
+        try {
+            byte[] compressed = readFully(channel, offsets[block], lengths[block]).array();
+            CRC32 crc = new CRC32();
+            crc.update(compressed);
+            if ((int) crc.getValue() != checksums[block]) {
+                throw new IOException("Corrupted block " + block + " in archive segment " + path);
+            }
+            byte[] raw = inflate(compressed, rawLengths[block]);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+                int count = in.readInt();
+                List<Order> orders = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    orders.add(OrderRecordCodec.read(in));
+                }
+                return orders;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return compressed.toByteArray();
+    }
+
+    private byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IOException("Truncated block in archive segment " + path);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted block in archive segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Lectura posicional: no mueve la posición del canal, así que admite lectores concurrentes.
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Filtro de Bloom de cadenas para los segmentos del archivo de pedidos. Con diez bits por
+ * clave da alrededor de un 1 % de falsos positivos y nunca falsos negativos, así que una
+ * respuesta negativa permite no leer el segmento.
+ */
+final class BloomFilter {
+
+    static final int DEFAULT_BITS_PER_KEY = 10;
+
+    private final long[] bits;
+    private final int hashes;
+
+    private BloomFilter(long[] bits, int hashes) {
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    static BloomFilter create(int expectedKeys, int bitsPerKey) {
+        long bitCount = Math.max(64, (long) expectedKeys * bitsPerKey);
+        int words = (int) Math.min(Integer.MAX_VALUE, (bitCount + 63) / 64);
+        int hashes = Math.max(1, (int) Math.round(bitsPerKey * Math.log(2)));
+        return new BloomFilter(new long[words], hashes);
+    }
+
+    void add(String key) {
+        long hash = hash(key);
+        long bitCount = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        long bitCount = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeByte(hashes);
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    static BloomFilter readFrom(DataInput in) throws IOException {
+        int hashes = in.readByte();
+        int words = in.readInt();
+        if (hashes <= 0 || words <= 0) {
+            throw new IOException("Invalid bloom filter: hashes=" + hashes + ", words=" + words);
+        }
+        long[] bits = new long[words];
+        for (int i = 0; i < words; i++) {
+            bits[i] = in.readLong();
+        }
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Doble hashing: las dos mitades de un hash de 64 bits generan todas las posiciones.
+     */
+    private static long bitIndex(long hash, int i, long bitCount) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Long.remainderUnsigned(h1 + (long) i * h2, bitCount);
+    }
+
+    /**
+     * FNV-1a sobre los caracteres con la mezcla final de MurmurHash3.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
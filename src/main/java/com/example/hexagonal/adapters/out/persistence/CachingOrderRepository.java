@@ -0,0 +1,313 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que cachea en memoria los pedidos leídos por ID de cualquier repositorio.
+ *
+ * <p>La caché está dividida en segmentos LRU independientes, cada uno con su propio
+ * cerrojo, y admite como mucho el número de pedidos indicado: al superarlo se expulsa el
+ * menos usado del segmento. Las escrituras van primero al repositorio decorado y después
+ * a la caché. Las consultas por cliente, estado o fecha no se cachean.</p>
+ *
+ * <p>Una lectura que falla en la caché solo guarda el resultado si ninguna escritura ha
+ * pasado por su segmento mientras tanto, para no sustituir un valor recién escrito por
+ * el que se leyó antes de la escritura. Del mismo modo, una escritura que termina
+ * después que otra más reciente del mismo pedido no sustituye su copia: si trae una
+ * versión anterior a la cacheada, la entrada se descarta.</p>
+ */
+public class CachingOrderRepository implements OrderRepository, AutoCloseable {
+    
+    private static final int SEGMENTS = 16;
+    
+    private final OrderRepository delegate;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * @param maxEntries Número máximo de pedidos en caché
+     */
+    public CachingOrderRepository(OrderRepository delegate, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+        this.delegate = delegate;
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+    
+    @Override
+    public Order save(Order order) {
+        try {
+            Order saved = delegate.save(order);
+            put(saved);
+            return saved;
+        } catch (RuntimeException e) {
+            // Si la escritura falla no sabemos qué quedó guardado
+            invalidate(order.getId());
+            throw e;
+        }
+    }
+    
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        try {
+            List<Order> saved = delegate.saveAll(orders);
+            saved.forEach(this::put);
+            return saved;
+        } catch (RuntimeException e) {
+            orders.forEach(order -> invalidate(order.getId()));
+            throw e;
+        }
+    }
+    
+    /**
+     * Si el guardado condicional falla, la copia en caché está desfasada y se descarta.
+     */
+    @Override
+    public boolean compareAndSave(Order order) {
+        boolean saved;
+        try {
+            saved = delegate.compareAndSave(order);
+        } catch (RuntimeException e) {
+            invalidate(order.getId());
+            throw e;
+        }
+        if (saved) {
+            put(order);
+        } else {
+            invalidate(order.getId());
+        }
+        return saved;
+    }
+    
+    @Override
+    public List<Boolean> compareAndSaveAll(List<Order> orders) {
+        List<Boolean> saved;
+        try {
+            saved = delegate.compareAndSaveAll(orders);
+        } catch (RuntimeException e) {
+            orders.forEach(order -> invalidate(order.getId()));
+            throw e;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            if (saved.get(i)) {
+                put(orders.get(i));
+            } else {
+                invalidate(orders.get(i).getId());
+            }
+        }
+        return saved;
+    }
+    
+    @Override
+    public Optional<Order> findById(String id) {
+        Segment segment = segmentFor(id);
+        Order cached = segment.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copyOf(cached));
+        }
+        misses.increment();
+        long writes = segment.writes();
+        Optional<Order> loaded = delegate.findById(id);
+        loaded.ifPresent(order -> segment.putIfUnchanged(order.getId(), copyOf(order), writes));
+        return loaded;
+    }
+    
+    /**
+     * Sirve desde la caché los pedidos presentes y resuelve el resto con una sola
+     * llamada al repositorio decorado.
+     */
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        List<Order> found = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Order cached = segmentFor(id).get(id);
+            if (cached != null) {
+                found.add(copyOf(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.add(found.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+        long[] writes = new long[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            writes[i] = segments[i].writes();
+        }
+        for (Order order : delegate.findAllById(missing)) {
+            int index = segmentIndex(order.getId());
+            segments[index].putIfUnchanged(order.getId(), copyOf(order), writes[index]);
+            found.add(order);
+        }
+        return found;
+    }
+    
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public Stream<Order> streamAll() {
+        return delegate.streamAll();
+    }
+    
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+    
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return delegate.findByCreatedAtBetween(from, to);
+    }
+    
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return delegate.streamByCreatedAtBetween(from, to);
+    }
+    
+    public long hits() {
+        return hits.sum();
+    }
+    
+    public long misses() {
+        return misses.sum();
+    }
+    
+    public long evictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Número de pedidos en caché.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+    
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+    
+    private void put(Order order) {
+        segmentFor(order.getId()).putIfNotOlder(order.getId(), copyOf(order));
+    }
+    
+    private void invalidate(String id) {
+        segmentFor(id).remove(id);
+    }
+    
+    private Segment segmentFor(String id) {
+        return segments[segmentIndex(id)];
+    }
+    
+    private static int segmentIndex(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (SEGMENTS - 1);
+    }
+    
+    private static Order copyOf(Order order) {
+        return order.toBuilder().build();
+    }
+    
+    /**
+     * Segmento LRU. LinkedHashMap en orden de acceso reordena también en las lecturas,
+     * así que todas las operaciones se serializan con el cerrojo del segmento.
+     */
+    private final class Segment {
+        
+        private final Map<String, Order> entries;
+        private long writes;
+        
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<String, Order>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Order> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        
+        synchronized Order get(String id) {
+            return entries.get(id);
+        }
+        
+        synchronized long writes() {
+            return writes;
+        }
+        
+        /**
+         * Sustituye la copia cacheada solo si la nueva tiene al menos su versión; si es
+         * anterior, no se sabe cuál quedó en el repositorio y la entrada se retira.
+         */
+        synchronized void putIfNotOlder(String id, Order order) {
+            writes++;
+            Order cached = entries.get(id);
+            if (cached == null || order.getVersion() >= cached.getVersion()) {
+                entries.put(id, order);
+            } else {
+                entries.remove(id);
+            }
+        }
+        
+        synchronized void remove(String id) {
+            writes++;
+            entries.remove(id);
+        }
+        
+        synchronized void putIfUnchanged(String id, Order order, long expectedWrites) {
+            if (writes == expectedWrites) {
+                entries.putIfAbsent(id, order);
+            }
+        }
+        
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Clave del índice temporal: ordena por fecha de creación y desempata por ID,
+ * de forma que dos pedidos creados en el mismo instante no colisionan.
+ * Un ID nulo representa la última posición posible para esa fecha.
+ * También sirve de cursor de paginación, codificado como Base64 URL-safe.
+ */
+@Value
+class CreatedAtKey implements Comparable<CreatedAtKey> {
+
+    private static final Comparator<CreatedAtKey> ORDER = Comparator
+            .comparing(CreatedAtKey::getCreatedAt)
+            .thenComparing(CreatedAtKey::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    LocalDateTime createdAt;
+    String id;
+
+    static CreatedAtKey lowerBound(LocalDateTime createdAt) {
+        return new CreatedAtKey(createdAt, "");
+    }
+
+    static CreatedAtKey upperBound(LocalDateTime createdAt) {
+        return new CreatedAtKey(createdAt, null);
+    }
+
+    static CreatedAtKey fromCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new CreatedAtKey(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    String toCursor() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int compareTo(CreatedAtKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.out.AsyncOrderRepository;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+
+import java.io.Closeable;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Adaptador que expone cualquier {@link OrderRepository} bloqueante como
+ * {@link AsyncOrderRepository}, ejecutando cada operación en el executor indicado.
+ *
+ * <p>Con un executor de hilos virtuales cada operación bloqueada (por ejemplo, esperando
+ * el fsync del write-ahead log) solo retiene un hilo virtual, de modo que el número de
+ * operaciones en curso no está limitado por un pool de hilos de plataforma.</p>
+ */
+public class ExecutorAsyncOrderRepository implements AsyncOrderRepository, Closeable {
+    
+    private final OrderRepository orderRepository;
+    private final ExecutorService executor;
+    
+    /**
+     * @param executor Executor del que pasa a ser propietario; se cierra con {@link #close()}
+     */
+    public ExecutorAsyncOrderRepository(OrderRepository orderRepository, ExecutorService executor) {
+        this.orderRepository = orderRepository;
+        this.executor = executor;
+    }
+    
+    @Override
+    public CompletableFuture<Order> saveAsync(Order order) {
+        return CompletableFuture.supplyAsync(() -> orderRepository.save(order), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> compareAndSaveAsync(Order order) {
+        return CompletableFuture.supplyAsync(() -> orderRepository.compareAndSave(order), executor);
+    }
+    
+    @Override
+    public CompletableFuture<Optional<Order>> findByIdAsync(String id) {
+        return CompletableFuture.supplyAsync(() -> orderRepository.findById(id), executor);
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.CustomerOrderStats;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador secundario que mantiene las estadísticas por cliente en memoria.
+ *
+ * <p>Cada cliente tiene un acumulador inmutable que se reemplaza con merge(), así que
+ * las actualizaciones de un mismo cliente son atómicas y las de clientes distintos no
+ * compiten. Los importes se acumulan en BigDecimal para que sumar y restar los mismos
+ * totales muchas veces no arrastre errores de redondeo.</p>
+ *
+ * <p>La vista no es durable: al arrancar se reconstruye con {@link #rebuild(Stream)}
+ * a partir de los pedidos del repositorio.</p>
+ */
+public class InMemoryCustomerStatsRepository implements CustomerStatsRepository {
+
+    private final ConcurrentMap<String, Totals> totalsByCustomer = new ConcurrentHashMap<>();
+
+    /**
+     * Añade a la vista todos los pedidos recibidos según su estado actual.
+     *
+     * @return Número de pedidos procesados
+     */
+    public long rebuild(Stream<Order> orders) {
+        long[] count = new long[1];
+        orders.forEach(order -> {
+            orderCreated(order);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    @Override
+    public void orderCreated(Order order) {
+        BigDecimal total = BigDecimal.valueOf(order.getTotal());
+        totalsByCustomer.merge(order.getCustomerId(),
+                Totals.ONE_ORDER.move(total, null, order.getStatus()),
+                Totals::plus);
+    }
+
+    @Override
+    public void orderStatusChanged(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        BigDecimal total = BigDecimal.valueOf(order.getTotal());
+        totalsByCustomer.merge(order.getCustomerId(),
+                Totals.ZERO.move(total, previousStatus, order.getStatus()),
+                Totals::plus);
+    }
+
+    @Override
+    public CustomerOrderStats findByCustomerId(String customerId) {
+        Totals totals = totalsByCustomer.get(customerId);
+        if (totals == null) {
+            return CustomerOrderStats.empty(customerId);
+        }
+        return new CustomerOrderStats(customerId, totals.orderCount,
+                totals.confirmed.doubleValue(), totals.pending.doubleValue());
+    }
+
+    private static final class Totals {
+
+        static final Totals ZERO = new Totals(0, BigDecimal.ZERO, BigDecimal.ZERO);
+        static final Totals ONE_ORDER = new Totals(1, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        final long orderCount;
+        final BigDecimal confirmed;
+        final BigDecimal pending;
+
+        Totals(long orderCount, BigDecimal confirmed, BigDecimal pending) {
+            this.orderCount = orderCount;
+            this.confirmed = confirmed;
+            this.pending = pending;
+        }
+
+        /**
+         * Resta el importe del estado de origen (si lo hay) y lo suma al de destino.
+         */
+        Totals move(BigDecimal amount, OrderStatus from, OrderStatus to) {
+            BigDecimal confirmedDelta = confirmed;
+            BigDecimal pendingDelta = pending;
+            if (from == OrderStatus.CONFIRMED) {
+                confirmedDelta = confirmedDelta.subtract(amount);
+            } else if (from == OrderStatus.PENDING) {
+                pendingDelta = pendingDelta.subtract(amount);
+            }
+            if (to == OrderStatus.CONFIRMED) {
+                confirmedDelta = confirmedDelta.add(amount);
+            } else if (to == OrderStatus.PENDING) {
+                pendingDelta = pendingDelta.add(amount);
+            }
+            return new Totals(orderCount, confirmedDelta, pendingDelta);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(orderCount + other.orderCount,
+                    confirmed.add(other.confirmed), pending.add(other.pending));
+        }
+    }
+}
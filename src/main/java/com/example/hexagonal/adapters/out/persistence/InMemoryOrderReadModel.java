@@ -0,0 +1,169 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.events.OrderCancelled;
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderView;
+import com.example.hexagonal.domain.model.OrderViewPage;
+import com.example.hexagonal.domain.ports.out.OrderReadModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptador secundario con el modelo de lectura de pedidos en memoria.
+ *
+ * <p>Guarda una vista por pedido y la indexa por fecha de creación, en general, por
+ * estado y por cliente, de modo que filtrar por cualquiera de ellos recorre solo los
+ * pedidos que coinciden, ya en el orden de la página. Los cursores tienen el mismo
+ * formato que los del repositorio.</p>
+ *
+ * <p>Cada vista se sustituye con compute(), que también mueve sus entradas de índice,
+ * así que los cambios de un mismo pedido son atómicos. Fusionar dos vistas se queda con
+ * el estado más avanzado y con la fecha de creación conocida: una confirmación que
+ * llega antes que la creación crea una vista sin fecha, que no aparece en los listados
+ * hasta que llega la creación o se refresca desde el repositorio.</p>
+ *
+ * <p>Las vistas no se retiran nunca, tampoco las de los pedidos que
+ * {@link TieredOrderRepository} traslada al archivo en disco: la memoria de este modelo
+ * crece con el número total de pedidos, no solo con los que siguen en memoria.</p>
+ */
+public class InMemoryOrderReadModel implements OrderReadModel {
+
+    private final ConcurrentMap<String, OrderView> views = new ConcurrentHashMap<>();
+    private final NavigableSet<CreatedAtKey> createdAtIndex = new ConcurrentSkipListSet<>();
+    private final Map<OrderStatus, NavigableSet<CreatedAtKey>> statusIndex = new EnumMap<>(OrderStatus.class);
+    private final ConcurrentMap<String, NavigableSet<CreatedAtKey>> customerIndex = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDateTime> asOf = new AtomicReference<>();
+
+    public InMemoryOrderReadModel() {
+        for (OrderStatus status : OrderStatus.values()) {
+            statusIndex.put(status, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Override
+    public void apply(OrderEvent event) {
+        OrderStatus status;
+        LocalDateTime createdAt = null;
+        if (event instanceof OrderCreated) {
+            status = OrderStatus.PENDING;
+            createdAt = event.getOccurredAt();
+        } else if (event instanceof OrderConfirmed) {
+            status = OrderStatus.CONFIRMED;
+        } else if (event instanceof OrderCancelled) {
+            status = OrderStatus.CANCELLED;
+        } else {
+            throw new IllegalArgumentException("Unsupported order event: " + event.getClass().getName());
+        }
+        merge(new OrderView(event.getOrderId(), event.getCustomerId(), event.getTotal(), status, createdAt,
+                event.getOccurredAt()));
+        asOf.accumulateAndGet(event.getOccurredAt(),
+                (current, occurredAt) -> current == null || occurredAt.isAfter(current) ? occurredAt : current);
+    }
+
+    @Override
+    public void refresh(Order order) {
+        merge(new OrderView(order.getId(), order.getCustomerId(), order.getTotal(), order.getStatus(),
+                order.getCreatedAt(), order.getCreatedAt()));
+    }
+
+    @Override
+    public OrderViewPage findPage(OrderStatus status, String customerId, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        NavigableSet<CreatedAtKey> index;
+        if (customerId != null) {
+            index = customerIndex.getOrDefault(customerId, Collections.emptyNavigableSet());
+        } else if (status != null) {
+            index = statusIndex.get(status);
+        } else {
+            index = createdAtIndex;
+        }
+        NavigableSet<CreatedAtKey> remaining = cursor == null
+                ? index
+                : index.tailSet(CreatedAtKey.fromCursor(cursor), false);
+        List<OrderView> page = new ArrayList<>(Math.min(limit, 256));
+        CreatedAtKey last = null;
+        boolean hasMore = false;
+        for (CreatedAtKey key : remaining) {
+            OrderView view = views.get(key.getId());
+            if (view == null || !key.getCreatedAt().equals(view.getCreatedAt())
+                    || (status != null && view.getStatus() != status)
+                    || (customerId != null && !customerId.equals(view.getCustomerId()))) {
+                continue;
+            }
+            if (page.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            page.add(view);
+            last = key;
+        }
+        return new OrderViewPage(page, hasMore ? last.toCursor() : null, asOf.get());
+    }
+
+    /**
+     * Momento del último evento proyectado, o null si todavía no se ha proyectado ninguno.
+     */
+    public LocalDateTime asOf() {
+        return asOf.get();
+    }
+
+    /**
+     * Número de pedidos con vista, incluidos los que aún no aparecen en los listados.
+     */
+    public long size() {
+        return views.size();
+    }
+
+    private void merge(OrderView incoming) {
+        views.compute(incoming.getId(), (id, current) -> {
+            OrderView merged = current == null ? incoming : merged(current, incoming);
+            reindex(current, merged);
+            return merged;
+        });
+    }
+
+    private static OrderView merged(OrderView current, OrderView incoming) {
+        // Confirmado y cancelado son finales: solo una vista pendiente o sin estado cambia de estado
+        OrderStatus status = current.getStatus() == null || current.getStatus() == OrderStatus.PENDING
+                ? (incoming.getStatus() != null ? incoming.getStatus() : current.getStatus())
+                : current.getStatus();
+        LocalDateTime createdAt = current.getCreatedAt() != null ? current.getCreatedAt() : incoming.getCreatedAt();
+        LocalDateTime updatedAt = current.getUpdatedAt() == null
+                || (incoming.getUpdatedAt() != null && incoming.getUpdatedAt().isAfter(current.getUpdatedAt()))
+                ? incoming.getUpdatedAt()
+                : current.getUpdatedAt();
+        return new OrderView(current.getId(), current.getCustomerId(), current.getTotal(), status, createdAt, updatedAt);
+    }
+
+    private void reindex(OrderView previous, OrderView current) {
+        if (current.getCreatedAt() == null) {
+            return;
+        }
+        CreatedAtKey key = new CreatedAtKey(current.getCreatedAt(), current.getId());
+        if (previous == null || previous.getCreatedAt() == null) {
+            createdAtIndex.add(key);
+            customerIndex.computeIfAbsent(current.getCustomerId(), customer -> new ConcurrentSkipListSet<>()).add(key);
+        } else if (previous.getStatus() != current.getStatus() && previous.getStatus() != null) {
+            statusIndex.get(previous.getStatus()).remove(key);
+        }
+        if (current.getStatus() != null) {
+            statusIndex.get(current.getStatus()).add(key);
+        }
+    }
+}
@@ -1,45 +1,275 @@
 package com.example.hexagonal.adapters.out.persistence;
 
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
 import com.example.hexagonal.domain.ports.out.OrderRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Adaptador secundario que implementa el repositorio de pedidos en memoria.
- * Esta implementación es útil para pruebas y desarrollo.
+ * Es seguro para acceso concurrente: las escrituras se serializan solo por clave
+ * (ConcurrentHashMap bloquea a nivel de bucket) y los índices por cliente, por estado
+ * y por fecha de creación se mantienen de forma incremental en cada save, de modo que
+ * las consultas no recorren todos los pedidos. Los guardados condicionales comparan
+ * la versión del pedido de forma atómica con el mismo bloqueo por clave.
  */
 @Repository
 public class InMemoryOrderRepository implements OrderRepository {
-    
-    private final Map<String, Order> orders = new HashMap<>();
-    
+
+    private final ConcurrentMap<String, Order> orders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> orderIdsByCustomer = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Set<String>> orderIdsByStatus = new EnumMap<>(OrderStatus.class);
+    private final NavigableSet<CreatedAtKey> createdAtIndex = new ConcurrentSkipListSet<>();
+
+    public InMemoryOrderRepository() {
+        // El mapa se rellena una sola vez y después solo se leen sus conjuntos concurrentes
+        for (OrderStatus status : OrderStatus.values()) {
+            orderIdsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
     @Override
     public Order save(Order order) {
-        orders.put(order.getId(), order);
+        // Guardamos una copia para que los cambios del llamante no alteren el estado indexado
+        Order stored = order.toBuilder().build();
+        orders.compute(stored.getId(), (id, previous) -> {
+            reindex(id, previous, stored);
+            return stored;
+        });
         return order;
     }
-    
+
+    /**
+     * La comprobación de versión y el reemplazo ocurren dentro de computeIfPresent(),
+     * que solo bloquea el bucket del pedido: no hay cerrojo global y las lecturas
+     * nunca esperan.
+     */
+    @Override
+    public boolean compareAndSave(Order order) {
+        long expectedVersion = order.getVersion();
+        Order stored = order.toBuilder().version(expectedVersion + 1).build();
+        Order result = orders.computeIfPresent(stored.getId(), (id, current) -> {
+            if (current.getVersion() != expectedVersion) {
+                return current;
+            }
+            reindex(id, current, stored);
+            return stored;
+        });
+        if (result != stored) {
+            return false;
+        }
+        order.setVersion(stored.getVersion());
+        return true;
+    }
+
+    /**
+     * Retira el pedido solo si el almacenado sigue siendo igual al indicado, con el mismo
+     * bloqueo por clave que las escrituras; así un cambio concurrente nunca se pierde.
+     *
+     * @return true si se retiró
+     */
+    public boolean removeIfUnchanged(Order order) {
+        boolean[] removed = new boolean[1];
+        orders.computeIfPresent(order.getId(), (id, current) -> {
+            if (!current.equals(order)) {
+                return current;
+            }
+            unindex(id, current);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Número de pedidos guardados.
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    boolean contains(String id) {
+        return orders.containsKey(id);
+    }
+
     @Override
     public Optional<Order> findById(String id) {
-        return Optional.ofNullable(orders.get(id));
+        return Optional.ofNullable(orders.get(id)).map(InMemoryOrderRepository::copyOf);
     }
-    
+
     @Override
     public List<Order> findAll() {
-        return new ArrayList<>(orders.values());
+        List<Order> result = new ArrayList<>(orders.size());
+        for (Order order : orders.values()) {
+            result.add(copyOf(order));
+        }
+        return result;
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return orders.values().stream().map(InMemoryOrderRepository::copyOf);
     }
-    
+
+    /**
+     * Pagina sobre el índice temporal, de modo que el orden es estable aunque
+     * se inserten pedidos entre páginas y cada página cuesta O(limit).
+     */
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        NavigableSet<CreatedAtKey> remaining = cursor == null
+                ? createdAtIndex
+                : createdAtIndex.tailSet(CreatedAtKey.fromCursor(cursor), false);
+        List<Order> page = new ArrayList<>(Math.min(limit, 256));
+        CreatedAtKey last = null;
+        boolean hasMore = false;
+        for (CreatedAtKey key : remaining) {
+            if (page.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            Order order = orders.get(key.getId());
+            if (order != null && key.getCreatedAt().equals(order.getCreatedAt())) {
+                page.add(copyOf(order));
+                last = key;
+            }
+        }
+        return new OrderPage(page, hasMore ? last.toCursor() : null);
+    }
+
     @Override
     public List<Order> findByCustomerId(String customerId) {
-        return orders.values().stream()
-                .filter(order -> order.getCustomerId().equals(customerId))
-                .collect(Collectors.toList());
+        Set<String> ids = orderIdsByCustomer.getOrDefault(customerId, Collections.emptySet());
+        List<Order> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Order order = orders.get(id);
+            if (order != null && customerId.equals(order.getCustomerId())) {
+                result.add(copyOf(order));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        Set<String> ids = orderIdsByStatus.get(status);
+        List<Order> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Order order = orders.get(id);
+            if (order != null && order.getStatus() == status) {
+                result.add(copyOf(order));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return lookup(createdAtIndex.subSet(
+                CreatedAtKey.lowerBound(from), true,
+                CreatedAtKey.upperBound(to), true));
+    }
+
+    /**
+     * Recorre el índice temporal sin copiarlo, así que los pedidos salen ordenados
+     * por fecha de creación y solo se materializa uno cada vez.
+     */
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return createdAtIndex.subSet(
+                        CreatedAtKey.lowerBound(from), true,
+                        CreatedAtKey.upperBound(to), true)
+                .stream()
+                .map(key -> {
+                    Order order = orders.get(key.getId());
+                    return order != null && key.getCreatedAt().equals(order.getCreatedAt()) ? copyOf(order) : null;
+                })
+                .filter(Objects::nonNull);
+    }
+
+    private List<Order> lookup(Collection<CreatedAtKey> keys) {
+        List<Order> result = new ArrayList<>();
+        for (CreatedAtKey key : keys) {
+            Order order = orders.get(key.getId());
+            if (order != null && key.getCreatedAt().equals(order.getCreatedAt())) {
+                result.add(copyOf(order));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Se invoca dentro de compute(), por lo que las actualizaciones de los índices
+     * para un mismo pedido nunca se intercalan.
+     */
+    private void reindex(String id, Order previous, Order current) {
+        reindexCustomer(id, previous, current);
+        if (previous == null || previous.getStatus() != current.getStatus()) {
+            if (previous != null && previous.getStatus() != null) {
+                orderIdsByStatus.get(previous.getStatus()).remove(id);
+            }
+            if (current.getStatus() != null) {
+                orderIdsByStatus.get(current.getStatus()).add(id);
+            }
+        }
+        if (previous == null || !Objects.equals(previous.getCreatedAt(), current.getCreatedAt())) {
+            if (previous != null && previous.getCreatedAt() != null) {
+                createdAtIndex.remove(new CreatedAtKey(previous.getCreatedAt(), id));
+            }
+            if (current.getCreatedAt() != null) {
+                createdAtIndex.add(new CreatedAtKey(current.getCreatedAt(), id));
+            }
+        }
+    }
+
+    private void unindex(String id, Order previous) {
+        orderIdsByCustomer.computeIfPresent(previous.getCustomerId(), (customerId, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+        if (previous.getStatus() != null) {
+            orderIdsByStatus.get(previous.getStatus()).remove(id);
+        }
+        if (previous.getCreatedAt() != null) {
+            createdAtIndex.remove(new CreatedAtKey(previous.getCreatedAt(), id));
+        }
+    }
+
+    private void reindexCustomer(String id, Order previous, Order current) {
+        if (previous != null && !previous.getCustomerId().equals(current.getCustomerId())) {
+            orderIdsByCustomer.computeIfPresent(previous.getCustomerId(), (customerId, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        orderIdsByCustomer.compute(current.getCustomerId(), (customerId, ids) -> {
+            Set<String> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            target.add(id);
+            return target;
+        });
+    }
+
+    private static Order copyOf(Order order) {
+        return order.toBuilder().build();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columna de ancho fijo almacenada fuera del heap en bloques de {@link #ROWS_PER_CHUNK} filas.
+ * Crecer añade bloques nuevos sin copiar los existentes. Las lecturas usan accesos
+ * absolutos, que no modifican el estado del buffer; la sincronización entre lectores
+ * y escritores es responsabilidad de quien usa la columna.
+ */
+final class OffHeapColumn {
+
+    static final int CHUNK_SHIFT = 16;
+    static final int ROWS_PER_CHUNK = 1 << CHUNK_SHIFT;
+
+    private final int width;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    OffHeapColumn(int width) {
+        this.width = width;
+    }
+
+    void ensureCapacity(int rows) {
+        while ((long) chunks.size() * ROWS_PER_CHUNK < rows) {
+            chunks.add(ByteBuffer.allocateDirect(ROWS_PER_CHUNK * width));
+        }
+    }
+
+    long allocatedBytes() {
+        return (long) chunks.size() * ROWS_PER_CHUNK * width;
+    }
+
+    byte getByte(int row) {
+        return chunk(row).get(offset(row));
+    }
+
+    void putByte(int row, byte value) {
+        chunk(row).put(offset(row), value);
+    }
+
+    int getInt(int row) {
+        return chunk(row).getInt(offset(row));
+    }
+
+    void putInt(int row, int value) {
+        chunk(row).putInt(offset(row), value);
+    }
+
+    long getLong(int row) {
+        return chunk(row).getLong(offset(row));
+    }
+
+    void putLong(int row, long value) {
+        chunk(row).putLong(offset(row), value);
+    }
+
+    double getDouble(int row) {
+        return chunk(row).getDouble(offset(row));
+    }
+
+    void putDouble(int row, double value) {
+        chunk(row).putDouble(offset(row), value);
+    }
+
+    private ByteBuffer chunk(int row) {
+        return chunks.get(row >>> CHUNK_SHIFT);
+    }
+
+    private int offset(int row) {
+        return (row & (ROWS_PER_CHUNK - 1)) * width;
+    }
+}
@@ -0,0 +1,565 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador secundario que almacena los pedidos fuera del heap en columnas de ancho fijo.
+ *
+ * <p>Cada pedido ocupa una fila: total (double), estado (byte), fecha de creación en
+ * milisegundos desde epoch (long), versión (long), código de cliente (int) y referencia a su ID. Los
+ * IDs se guardan una sola vez en una zona de bytes fuera del heap y se localizan con
+ * una tabla hash de direccionamiento abierto también fuera del heap; los IDs de cliente
+ * se codifican con un diccionario. Los objetos {@link Order} solo se materializan al
+ * devolverlos por el puerto, por lo que el heap no crece con el número de pedidos.</p>
+ *
+ * <p>La fecha de creación se guarda con precisión de milisegundos. Los pedidos de un
+ * mismo cliente se encadenan mediante una columna de "siguiente fila", de modo que
+ * findByCustomerId cuesta O(pedidos del cliente); las consultas por estado o fecha
+ * recorren solo la columna correspondiente.</p>
+ */
+public class OffHeapOrderRepository implements OrderRepository {
+
+    private static final byte NO_STATUS = -1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NO_ROW = -1;
+    private static final int ARENA_CHUNK_SHIFT = 20;
+    private static final int ARENA_CHUNK_BYTES = 1 << ARENA_CHUNK_SHIFT;
+    private static final int INITIAL_TABLE_CAPACITY = 1 << 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final OffHeapColumn totals = new OffHeapColumn(Double.BYTES);
+    private final OffHeapColumn statuses = new OffHeapColumn(Byte.BYTES);
+    private final OffHeapColumn createdAts = new OffHeapColumn(Long.BYTES);
+    private final OffHeapColumn versions = new OffHeapColumn(Long.BYTES);
+    private final OffHeapColumn customerCodes = new OffHeapColumn(Integer.BYTES);
+    private final OffHeapColumn nextRowOfCustomer = new OffHeapColumn(Integer.BYTES);
+    private final OffHeapColumn idReferences = new OffHeapColumn(Long.BYTES);
+
+    private final List<ByteBuffer> idArena = new ArrayList<>();
+    private long idArenaPosition;
+    private IntBuffer idTable = allocateTable(INITIAL_TABLE_CAPACITY);
+    private int idTableCapacity = INITIAL_TABLE_CAPACITY;
+
+    private final Map<String, Integer> customerDictionary = new HashMap<>();
+    private final List<String> customerIds = new ArrayList<>();
+    private int[] firstRowOfCustomer = new int[16];
+
+    private int rows;
+
+    @Override
+    public Order save(Order order) {
+        byte[] id = encodeId(order.getId());
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            write(order, id);
+        } finally {
+            write.unlock();
+        }
+        return order;
+    }
+
+    /**
+     * Guarda el lote completo adquiriendo el cerrojo de escritura una sola vez.
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<byte[]> ids = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            ids.add(encodeId(order.getId()));
+        }
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            for (int i = 0; i < orders.size(); i++) {
+                write(orders.get(i), ids.get(i));
+            }
+        } finally {
+            write.unlock();
+        }
+        return orders;
+    }
+
+    @Override
+    public boolean compareAndSave(Order order) {
+        return compareAndSaveAll(Collections.singletonList(order)).get(0);
+    }
+
+    /**
+     * Compara y guarda el lote completo adquiriendo el cerrojo de escritura una sola vez.
+     */
+    @Override
+    public List<Boolean> compareAndSaveAll(List<Order> orders) {
+        List<byte[]> ids = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            ids.add(encodeId(order.getId()));
+        }
+        List<Boolean> saved = new ArrayList<>(orders.size());
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            for (int i = 0; i < orders.size(); i++) {
+                Order order = orders.get(i);
+                int row = findRow(ids.get(i));
+                boolean matches = row != NO_ROW && versions.getLong(row) == order.getVersion();
+                if (matches) {
+                    order.setVersion(order.getVersion() + 1);
+                    write(order, ids.get(i));
+                }
+                saved.add(matches);
+            }
+        } finally {
+            write.unlock();
+        }
+        return saved;
+    }
+
+    /**
+     * Debe invocarse con el cerrojo de escritura adquirido.
+     */
+    private void write(Order order, byte[] id) {
+        int customer = encodeCustomer(order.getCustomerId());
+        int row = findRow(id);
+        if (row == NO_ROW) {
+            row = appendRow(id);
+            linkToCustomer(row, customer);
+        } else if (customerCodes.getInt(row) != customer) {
+            unlinkFromCustomer(row, customerCodes.getInt(row));
+            linkToCustomer(row, customer);
+        }
+        customerCodes.putInt(row, customer);
+        totals.putDouble(row, order.getTotal());
+        statuses.putByte(row, order.getStatus() != null ? (byte) order.getStatus().ordinal() : NO_STATUS);
+        createdAts.putLong(row, toEpochMilli(order.getCreatedAt()));
+        versions.putLong(row, order.getVersion());
+    }
+
+    @Override
+    public Optional<Order> findById(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int row = findRow(key);
+            return row == NO_ROW ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Resuelve el lote completo adquiriendo el cerrojo de lectura una sola vez.
+     */
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        List<byte[]> keys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            keys.add(id.getBytes(StandardCharsets.UTF_8));
+        }
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<Order> found = new ArrayList<>(keys.size());
+            for (byte[] key : keys) {
+                int row = findRow(key);
+                if (row != NO_ROW) {
+                    found.add(materialize(row));
+                }
+            }
+            return found;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return scan(row -> true);
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return IntStream.range(0, rowCount()).mapToObj(this::materializeLocked);
+    }
+
+    /**
+     * Filtra por la columna de fechas antes de materializar, así que solo se crean
+     * objetos para las filas del intervalo.
+     */
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        long fromMillis = boundToEpochMilli(from);
+        long toMillis = boundToEpochMilli(to);
+        return IntStream.range(0, rowCount())
+                .mapToObj(row -> materializeLockedIfCreatedBetween(row, fromMillis, toMillis))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Las filas nunca se mueven, así que el cursor es simplemente la siguiente fila a leer.
+     */
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        int from = cursor == null ? 0 : Integer.parseInt(cursor, Character.MAX_RADIX);
+        if (from < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int to = (int) Math.min(rows, (long) from + limit);
+            List<Order> page = new ArrayList<>(Math.max(0, to - from));
+            for (int row = from; row < to; row++) {
+                page.add(materialize(row));
+            }
+            return new OrderPage(page, to < rows ? Integer.toString(to, Character.MAX_RADIX) : null);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            Integer customer = customerDictionary.get(customerId);
+            if (customer == null) {
+                return Collections.emptyList();
+            }
+            List<Order> result = new ArrayList<>();
+            for (int row = firstRowOfCustomer[customer]; row != NO_ROW; row = nextRowOfCustomer.getInt(row)) {
+                result.add(materialize(row));
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        byte code = (byte) status.ordinal();
+        return scan(row -> statuses.getByte(row) == code);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        long fromMillis = boundToEpochMilli(from);
+        long toMillis = boundToEpochMilli(to);
+        List<Order> result = scan(row -> {
+            long createdAt = createdAts.getLong(row);
+            return createdAt != NO_TIMESTAMP && createdAt >= fromMillis && createdAt <= toMillis;
+        });
+        result.sort(Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId));
+        return result;
+    }
+
+    /**
+     * Memoria reservada fuera del heap por las columnas, la zona de IDs y la tabla hash.
+     */
+    public long offHeapBytes() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return totals.allocatedBytes() + statuses.allocatedBytes() + createdAts.allocatedBytes()
+                    + versions.allocatedBytes()
+                    + customerCodes.allocatedBytes() + nextRowOfCustomer.allocatedBytes()
+                    + idReferences.allocatedBytes()
+                    + (long) idArena.size() * ARENA_CHUNK_BYTES
+                    + (long) idTableCapacity * Integer.BYTES;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private interface RowPredicate {
+        boolean test(int row);
+    }
+
+    private List<Order> scan(RowPredicate predicate) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<Order> result = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                if (predicate.test(row)) {
+                    result.add(materialize(row));
+                }
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private int rowCount() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return rows;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private Order materializeLockedIfCreatedBetween(int row, long fromMillis, long toMillis) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            long createdAt = createdAts.getLong(row);
+            boolean inRange = createdAt != NO_TIMESTAMP && createdAt >= fromMillis && createdAt <= toMillis;
+            return inRange ? materialize(row) : null;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private Order materializeLocked(int row) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return materialize(row);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private Order materialize(int row) {
+        byte status = statuses.getByte(row);
+        long createdAt = createdAts.getLong(row);
+        return Order.builder()
+                .id(readId(row))
+                .customerId(customerIds.get(customerCodes.getInt(row)))
+                .total(totals.getDouble(row))
+                .status(status == NO_STATUS ? null : OrderStatus.values()[status])
+                .createdAt(createdAt == NO_TIMESTAMP ? null : fromEpochMilli(createdAt))
+                .version(versions.getLong(row))
+                .build();
+    }
+
+    private int appendRow(byte[] id) {
+        if (rows == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap order store is full");
+        }
+        if ((long) (rows + 1) * 2 > idTableCapacity) {
+            growTable();
+        }
+        int row = rows++;
+        totals.ensureCapacity(rows);
+        statuses.ensureCapacity(rows);
+        createdAts.ensureCapacity(rows);
+        versions.ensureCapacity(rows);
+        customerCodes.ensureCapacity(rows);
+        nextRowOfCustomer.ensureCapacity(rows);
+        idReferences.ensureCapacity(rows);
+        idReferences.putLong(row, appendId(id));
+        insertIntoTable(row, hash(id));
+        return row;
+    }
+
+    private int encodeCustomer(String customerId) {
+        Integer code = customerDictionary.get(customerId);
+        if (code != null) {
+            return code;
+        }
+        int newCode = customerIds.size();
+        customerIds.add(customerId);
+        customerDictionary.put(customerId, newCode);
+        if (newCode == firstRowOfCustomer.length) {
+            firstRowOfCustomer = Arrays.copyOf(firstRowOfCustomer, newCode * 2);
+        }
+        firstRowOfCustomer[newCode] = NO_ROW;
+        return newCode;
+    }
+
+    private void linkToCustomer(int row, int customer) {
+        nextRowOfCustomer.putInt(row, firstRowOfCustomer[customer]);
+        firstRowOfCustomer[customer] = row;
+    }
+
+    /**
+     * Solo se usa cuando un pedido cambia de cliente, un caso excepcional.
+     */
+    private void unlinkFromCustomer(int row, int customer) {
+        int next = nextRowOfCustomer.getInt(row);
+        if (firstRowOfCustomer[customer] == row) {
+            firstRowOfCustomer[customer] = next;
+            return;
+        }
+        for (int current = firstRowOfCustomer[customer]; current != NO_ROW; current = nextRowOfCustomer.getInt(current)) {
+            if (nextRowOfCustomer.getInt(current) == row) {
+                nextRowOfCustomer.putInt(current, next);
+                return;
+            }
+        }
+    }
+
+    // --- IDs: zona de bytes fuera del heap más tabla hash de direccionamiento abierto ---
+
+    /**
+     * Valida el ID antes de tomar el cerrojo, para que un ID no válido no deje a medias
+     * una fila ni un lote.
+     */
+    private static byte[] encodeId(String orderId) {
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order id is required");
+        }
+        byte[] id = orderId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Order id too long: " + id.length + " bytes");
+        }
+        return id;
+    }
+
+    private long appendId(byte[] id) {
+        int recordBytes = Short.BYTES + id.length;
+        long offsetInChunk = idArenaPosition & (ARENA_CHUNK_BYTES - 1);
+        if (idArena.isEmpty() || offsetInChunk + recordBytes > ARENA_CHUNK_BYTES) {
+            idArena.add(ByteBuffer.allocateDirect(ARENA_CHUNK_BYTES));
+            idArenaPosition = (long) (idArena.size() - 1) << ARENA_CHUNK_SHIFT;
+            offsetInChunk = 0;
+        }
+        ByteBuffer chunk = idArena.get(idArena.size() - 1);
+        int offset = (int) offsetInChunk;
+        chunk.putShort(offset, (short) id.length);
+        for (int i = 0; i < id.length; i++) {
+            chunk.put(offset + Short.BYTES + i, id[i]);
+        }
+        long reference = idArenaPosition;
+        idArenaPosition += recordBytes;
+        return reference;
+    }
+
+    private String readId(int row) {
+        long reference = idReferences.getLong(row);
+        ByteBuffer chunk = idArena.get((int) (reference >>> ARENA_CHUNK_SHIFT));
+        int offset = (int) (reference & (ARENA_CHUNK_BYTES - 1));
+        byte[] bytes = new byte[chunk.getShort(offset)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = chunk.get(offset + Short.BYTES + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean idEquals(int row, byte[] id) {
+        long reference = idReferences.getLong(row);
+        ByteBuffer chunk = idArena.get((int) (reference >>> ARENA_CHUNK_SHIFT));
+        int offset = (int) (reference & (ARENA_CHUNK_BYTES - 1));
+        if (chunk.getShort(offset) != id.length) {
+            return false;
+        }
+        for (int i = 0; i < id.length; i++) {
+            if (chunk.get(offset + Short.BYTES + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int storedIdHash(int row) {
+        long reference = idReferences.getLong(row);
+        ByteBuffer chunk = idArena.get((int) (reference >>> ARENA_CHUNK_SHIFT));
+        int offset = (int) (reference & (ARENA_CHUNK_BYTES - 1));
+        int length = chunk.getShort(offset);
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ chunk.get(offset + Short.BYTES + i)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hash(byte[] id) {
+        int hash = 0x811C9DC5;
+        for (byte b : id) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private int findRow(byte[] id) {
+        int mask = idTableCapacity - 1;
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            int entry = idTable.get(slot);
+            if (entry == 0) {
+                return NO_ROW;
+            }
+            if (idEquals(entry - 1, id)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insertIntoTable(int row, int hash) {
+        int mask = idTableCapacity - 1;
+        int slot = hash & mask;
+        while (idTable.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        // Se guarda fila + 1 para que 0 signifique "hueco libre"
+        idTable.put(slot, row + 1);
+    }
+
+    private void growTable() {
+        idTableCapacity *= 2;
+        idTable = allocateTable(idTableCapacity);
+        for (int row = 0; row < rows; row++) {
+            insertIntoTable(row, storedIdHash(row));
+        }
+    }
+
+    private static IntBuffer allocateTable(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Límite de un intervalo en milisegundos; las fechas que no caben en un long, como
+     * LocalDateTime.MIN o MAX, se saturan en lugar de desbordar.
+     */
+    private static long boundToEpochMilli(LocalDateTime bound) {
+        try {
+            return toEpochMilli(bound);
+        } catch (ArithmeticException e) {
+            return bound.getYear() < 1970 ? NO_TIMESTAMP + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    private static LocalDateTime fromEpochMilli(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochMilli, 1000L),
+                (int) Math.floorMod(epochMilli, 1000L) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Nivel de archivo de pedidos en disco: un directorio de segmentos inmutables, cada uno
+ * escrito de una vez con un lote de pedidos. Las búsquedas van del segmento más reciente
+ * al más antiguo y consultan primero los filtros de Bloom, de modo que un ID o un cliente
+ * que no está archivado no lee nada del disco.
+ */
+@Slf4j
+final class OrderArchive implements Closeable {
+
+    private static final String PREFIX = "archive-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int blockSize;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final LongAdder bloomSkips = new LongAdder();
+    private final LongAdder segmentReads = new LongAdder();
+    private long nextSequence;
+
+    /**
+     * Abre los segmentos que ya existan en el directorio. Los que estén dañados se ignoran
+     * y se dejan en disco para revisarlos.
+     *
+     * @param blockSize Número de pedidos por bloque comprimido en los segmentos nuevos
+     */
+    OrderArchive(Path directory, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Archive block size must be positive: " + blockSize);
+        }
+        this.directory = directory;
+        this.blockSize = blockSize;
+        Files.createDirectories(directory);
+        List<Long> sequences = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX + ".tmp")) {
+                    // Segmento a medio escribir: sus pedidos siguen en memoria
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    sequences.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                }
+            }
+        }
+        sequences.sort(Comparator.naturalOrder());
+        for (long sequence : sequences) {
+            Path path = segmentPath(sequence);
+            try {
+                segments.add(ArchiveSegment.open(path));
+            } catch (IOException e) {
+                log.error("Ignoring unreadable archive segment {}", path, e);
+            }
+            nextSequence = sequence + 1;
+        }
+    }
+
+    /**
+     * Escribe los pedidos en un segmento nuevo. Cuando vuelve, ya son visibles en las búsquedas.
+     */
+    synchronized void append(List<Order> orders) throws IOException {
+        List<Order> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(Order::getId));
+        segments.add(ArchiveSegment.write(segmentPath(nextSequence), sorted, blockSize));
+        nextSequence++;
+    }
+
+    Optional<Order> findById(String id) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ArchiveSegment segment = segments.get(i);
+            if (!segment.mightContainId(id)) {
+                bloomSkips.increment();
+                continue;
+            }
+            segmentReads.increment();
+            Optional<Order> order = segment.findById(id);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Como {@link #findById(String)}, pero sin leer el pedido ni contar en las métricas
+     * de búsquedas; lo usa el archivador para no archivar dos veces el mismo pedido.
+     */
+    boolean contains(String id) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ArchiveSegment segment = segments.get(i);
+            if (segment.mightContainId(id) && segment.findById(id).isPresent()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Los pedidos no están ordenados por cliente, así que cada segmento que pasa el filtro
+     * se recorre entero.
+     */
+    List<Order> findByCustomerId(String customerId) {
+        List<Order> result = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (!segment.mightContainCustomer(customerId)) {
+                bloomSkips.increment();
+                continue;
+            }
+            segmentReads.increment();
+            try (Stream<Order> orders = segment.stream()) {
+                orders.filter(order -> customerId.equals(order.getCustomerId())).forEach(result::add);
+            }
+        }
+        return result;
+    }
+
+    Stream<Order> stream() {
+        return segments.stream().flatMap(ArchiveSegment::stream);
+    }
+
+    /**
+     * Solo recorre los segmentos cuyo rango de fechas se solapa con el intervalo.
+     */
+    Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return segments.stream()
+                .filter(segment -> segment.overlaps(from, to))
+                .flatMap(ArchiveSegment::stream)
+                .filter(order -> order.getCreatedAt() != null
+                        && !order.getCreatedAt().isBefore(from)
+                        && !order.getCreatedAt().isAfter(to));
+    }
+
+    /**
+     * Número de pedidos archivados.
+     */
+    long size() {
+        long size = 0;
+        for (ArchiveSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Búsquedas en un segmento resueltas solo con su filtro de Bloom o su rango de IDs.
+     */
+    long bloomSkips() {
+        return bloomSkips.sum();
+    }
+
+    /**
+     * Búsquedas que han tenido que leer un segmento del disco.
+     */
+    long segmentReads() {
+        return segmentReads.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ArchiveSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.events.OrderCancelled;
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codificación binaria compacta de un pedido para los adaptadores persistentes.
+ * Cada registro empieza con un byte de formato para poder evolucionar el esquema
+ * sin invalidar los ficheros ya escritos. Los eventos de pedido del outbox se
+ * codifican igual, empezando por un byte con su tipo.
+ */
+final class OrderRecordCodec {
+
+    private static final byte FORMAT_V1 = 1;
+    /** V2 añade la versión del pedido al final del registro. */
+    private static final byte FORMAT_V2 = 2;
+    private static final byte NO_STATUS = -1;
+    private static final byte EVENT_CREATED = 1;
+    private static final byte EVENT_CONFIRMED = 2;
+    private static final byte EVENT_CANCELLED = 3;
+
+    private OrderRecordCodec() {
+    }
+
+    static byte[] encode(Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Order decode(byte[] record) {
+        return decode(record, 0);
+    }
+
+    static Order decode(byte[] record, int offset) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(record, offset, record.length - offset))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void write(DataOutput out, Order order) throws IOException {
+        out.writeByte(FORMAT_V2);
+        out.writeUTF(order.getId());
+        out.writeUTF(order.getCustomerId());
+        out.writeDouble(order.getTotal());
+        out.writeByte(order.getStatus() != null ? order.getStatus().ordinal() : NO_STATUS);
+        LocalDateTime createdAt = order.getCreatedAt();
+        out.writeBoolean(createdAt != null);
+        if (createdAt != null) {
+            out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(createdAt.getNano());
+        }
+        out.writeLong(order.getVersion());
+    }
+
+    static Order read(DataInput in) throws IOException {
+        byte format = in.readByte();
+        if (format != FORMAT_V1 && format != FORMAT_V2) {
+            throw new IOException("Unsupported order record format: " + format);
+        }
+        Order.OrderBuilder builder = Order.builder()
+                .id(in.readUTF())
+                .customerId(in.readUTF())
+                .total(in.readDouble());
+        byte status = in.readByte();
+        if (status != NO_STATUS) {
+            builder.status(OrderStatus.values()[status]);
+        }
+        if (in.readBoolean()) {
+            long epochSecond = in.readLong();
+            int nano = in.readInt();
+            builder.createdAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        // Los registros V1 no guardaban versión: se leen con versión 0
+        if (format == FORMAT_V2) {
+            builder.version(in.readLong());
+        }
+        return builder.build();
+    }
+
+    static void writeEvent(DataOutput out, OrderEvent event) throws IOException {
+        if (event instanceof OrderCreated) {
+            out.writeByte(EVENT_CREATED);
+        } else if (event instanceof OrderConfirmed) {
+            out.writeByte(EVENT_CONFIRMED);
+        } else if (event instanceof OrderCancelled) {
+            out.writeByte(EVENT_CANCELLED);
+        } else {
+            throw new IllegalArgumentException("Unsupported order event: " + event.getClass().getName());
+        }
+        out.writeUTF(event.getOrderId());
+        out.writeUTF(event.getCustomerId());
+        out.writeDouble(event.getTotal());
+        out.writeLong(event.getOccurredAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(event.getOccurredAt().getNano());
+    }
+
+    static OrderEvent readEvent(DataInput in) throws IOException {
+        byte type = in.readByte();
+        String orderId = in.readUTF();
+        String customerId = in.readUTF();
+        double total = in.readDouble();
+        LocalDateTime occurredAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        switch (type) {
+            case EVENT_CREATED:
+                return new OrderCreated(orderId, customerId, total, occurredAt);
+            case EVENT_CONFIRMED:
+                return new OrderConfirmed(orderId, customerId, total, occurredAt);
+            case EVENT_CANCELLED:
+                return new OrderCancelled(orderId, customerId, total, occurredAt);
+            default:
+                throw new IOException("Unsupported order event type: " + type);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.events.SequencedOrderEvent;
+import com.example.hexagonal.domain.ports.out.OrderEventSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hilo que vacía el outbox de un {@link WalOrderRepository} hacia un {@link OrderEventSink}.
+ *
+ * <p>Toma los eventos pendientes más antiguos en lotes, los envía y, solo cuando el
+ * destino los ha aceptado, anota en el log la última secuencia entregada. Si el proceso
+ * cae entre el envío y la anotación, el lote se reenvía al arrancar: la entrega es al
+ * menos una vez. Un envío fallido se reintenta con el mismo lote tras el intervalo de
+ * sondeo. Mientras el outbox tiene eventos, los lotes se envían sin esperar.</p>
+ */
+@Slf4j
+public class OutboxRelay implements AutoCloseable {
+
+    private final WalOrderRepository repository;
+    private final OrderEventSink sink;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final Thread relay;
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean closed;
+
+    OutboxRelay(WalOrderRepository repository, OrderEventSink sink, int batchSize, Duration pollInterval) {
+        if (batchSize <= 0 || pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("Invalid outbox relay settings: batch=" + batchSize
+                    + ", poll=" + pollInterval);
+        }
+        this.repository = repository;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.relay = new Thread(this::relayLoop, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    /**
+     * Eventos entregados al destino desde el arranque.
+     */
+    public long relayed() {
+        return relayed.sum();
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Envíos fallidos desde el arranque; cada uno se reintenta.
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Eventos guardados que todavía no se han entregado.
+     */
+    public long pending() {
+        return repository.pendingEventCount();
+    }
+
+    /**
+     * Antigüedad en milisegundos del evento pendiente más antiguo, o cero si no hay ninguno.
+     */
+    public long lagMillis() {
+        List<SequencedOrderEvent> oldest = repository.pendingEvents(1);
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(oldest.get(0).getEvent().getOccurredAt(), LocalDateTime.now()).toMillis());
+    }
+
+    /**
+     * Detiene el relay después de intentar enviar los eventos pendientes, y cierra el destino.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(relay);
+        try {
+            relay.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sink instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) sink).close();
+            } catch (Exception e) {
+                log.warn("Could not close order event sink", e);
+            }
+        }
+    }
+
+    private void relayLoop() {
+        while (true) {
+            boolean sent = relayBatch();
+            if (!sent && closed) {
+                // Lo que no se pudo enviar al cerrar queda en el log para el siguiente arranque
+                return;
+            }
+            if (!sent) {
+                LockSupport.parkNanos(pollIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Envía un lote.
+     *
+     * @return false si el outbox estaba vacío o el envío falló
+     */
+    private boolean relayBatch() {
+        List<SequencedOrderEvent> batch = repository.pendingEvents(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        try {
+            sink.send(batch);
+            repository.acknowledgeEvents(batch.get(batch.size() - 1).getSequence());
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not relay {} order events starting at sequence {}; retrying",
+                    batch.size(), batch.get(0).getSequence(), e);
+            return false;
+        }
+        relayed.add(batch.size());
+        batches.increment();
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador secundario que reparte los pedidos entre varias particiones en memoria
+ * según el hash de su cliente, de modo que los pedidos de un cliente están juntos y
+ * cada partición es un dominio de contención y de memoria independiente.
+ *
+ * <p>Las escrituras y las consultas por cliente van a una sola partición, la del cliente
+ * del pedido, que no cambia nunca. Una consulta por ID no conoce el cliente, así que
+ * prueba las particiones una tras otra: son N búsquedas en tablas hash, sin ningún
+ * índice global que crezca con los pedidos ni se comparta entre particiones. Las que cruzan
+ * particiones se lanzan en paralelo a todas ellas en un ForkJoinPool propio y sus
+ * resultados se combinan; las que devuelven pedidos ordenados por fecha se mezclan
+ * conservando ese orden.</p>
+ */
+public class PartitionedOrderRepository implements OrderRepository, AutoCloseable {
+
+    private static final Comparator<Order> BY_CREATED_AT = Comparator
+            .comparing(Order::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Order::getId);
+
+    private final InMemoryOrderRepository[] partitions;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param partitionCount Número de particiones
+     */
+    public PartitionedOrderRepository(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive: " + partitionCount);
+        }
+        this.partitions = new InMemoryOrderRepository[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new InMemoryOrderRepository();
+        }
+        this.pool = new ForkJoinPool(Math.min(partitionCount, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return partitions[partitionOf(order.getCustomerId())].save(order);
+    }
+
+    @Override
+    public boolean compareAndSave(Order order) {
+        return partitions[partitionOf(order.getCustomerId())].compareAndSave(order);
+    }
+
+    @Override
+    public Optional<Order> findById(String id) {
+        for (InMemoryOrderRepository partition : partitions) {
+            Optional<Order> order = partition.findById(id);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Cada partición resuelve todo el lote a la vez y devuelve los que tiene.
+     */
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        return concat(scatter(partition -> partition.findAllById(ids)));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return concat(scatter(InMemoryOrderRepository::findAll));
+    }
+
+    /**
+     * Recorre las particiones una detrás de otra; el stream ya es perezoso, así que no
+     * se gana nada lanzándolas en paralelo.
+     */
+    @Override
+    public Stream<Order> streamAll() {
+        return Stream.of(partitions).flatMap(InMemoryOrderRepository::streamAll);
+    }
+
+    /**
+     * Cada partición devuelve su propia página a partir del mismo cursor, que es la
+     * posición global en el índice temporal, y se mezclan quedándose con las primeras.
+     */
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        if (cursor != null) {
+            // Se valida antes de repartir la consulta para no lanzar N veces el mismo error
+            CreatedAtKey.fromCursor(cursor);
+        }
+        List<OrderPage> pages = scatter(partition -> partition.findPage(cursor, limit));
+        List<Order> merged = new ArrayList<>();
+        boolean hasMore = false;
+        for (OrderPage page : pages) {
+            merged.addAll(page.getOrders());
+            hasMore |= page.getNextCursor() != null;
+        }
+        merged.sort(BY_CREATED_AT);
+        if (merged.size() > limit) {
+            merged = new ArrayList<>(merged.subList(0, limit));
+            hasMore = true;
+        }
+        if (!hasMore || merged.isEmpty()) {
+            return new OrderPage(merged, null);
+        }
+        Order last = merged.get(merged.size() - 1);
+        return new OrderPage(merged, new CreatedAtKey(last.getCreatedAt(), last.getId()).toCursor());
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return partitions[partitionOf(customerId)].findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return concat(scatter(partition -> partition.findByStatus(status)));
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        List<Order> merged = concat(scatter(partition -> partition.findByCreatedAtBetween(from, to)));
+        merged.sort(BY_CREATED_AT);
+        return merged;
+    }
+
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return Stream.of(partitions).flatMap(partition -> partition.streamByCreatedAtBetween(from, to));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int partitionOf(String customerId) {
+        // Se mezclan los bits altos del hash, como hace HashMap, para repartir mejor
+        int hash = customerId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    /**
+     * Ejecuta la consulta en todas las particiones a la vez y devuelve sus resultados
+     * en el orden de las particiones.
+     */
+    private <T> List<T> scatter(Function<InMemoryOrderRepository, T> query) {
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(partitions.length);
+        for (InMemoryOrderRepository partition : partitions) {
+            tasks.add(pool.submit(() -> query.apply(partition)));
+        }
+        List<T> results = new ArrayList<>(partitions.length);
+        for (ForkJoinTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private static List<Order> concat(List<List<Order>> lists) {
+        int size = 0;
+        for (List<Order> list : lists) {
+            size += list.size();
+        }
+        List<Order> result = new ArrayList<>(size);
+        lists.forEach(result::addAll);
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshots binarios del estado de los pedidos, junto a los segmentos del log.
+ *
+ * <p>Cada snapshot registra el {@link WriteAheadLog.Checkpoint} que cubre, de modo
+ * que la recuperación solo reproduce los segmentos posteriores. El fichero se escribe
+ * en un temporal, se sincroniza, se renombra de forma atómica y se sincroniza el
+ * directorio, de modo que el snapshot es durable antes de borrar los segmentos que
+ * cubre; el CRC final permite descartar un snapshot dañado y volver al anterior.</p>
+ */
+@Slf4j
+final class SnapshotStore {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int MAGIC = 0x4F524453;
+    private static final byte FORMAT_V1 = 1;
+    private static final byte ENTRY = 1;
+    private static final byte END = 0;
+
+    private final Path directory;
+
+    SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Escribe un snapshot con los pedidos indicados y borra los snapshots anteriores.
+     *
+     * @return Número de pedidos escritos
+     */
+    long write(WriteAheadLog.Checkpoint checkpoint, Iterator<Order> orders) throws IOException {
+        Files.createDirectories(directory);
+        Path target = snapshotPath(checkpoint.getSegment());
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        long count = 0;
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temporary);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_V1);
+            out.writeLong(checkpoint.getSegment());
+            out.writeLong(checkpoint.getLsn());
+            while (orders.hasNext()) {
+                out.writeByte(ENTRY);
+                OrderRecordCodec.write(out, orders.next());
+                count++;
+            }
+            out.writeByte(END);
+            out.flush();
+            // El CRC no se incluye a sí mismo: se escribe directamente en el fichero
+            new DataOutputStream(file).writeInt((int) crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory();
+        for (long segment : listSnapshots()) {
+            if (segment < checkpoint.getSegment()) {
+                Files.deleteIfExists(snapshotPath(segment));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Carga el snapshot válido más reciente, si existe.
+     *
+     * @return El checkpoint cubierto por el snapshot cargado, o {@link WriteAheadLog.Checkpoint#NONE}
+     */
+    WriteAheadLog.Checkpoint loadLatest(Consumer<Order> sink) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return WriteAheadLog.Checkpoint.NONE;
+        }
+        List<Long> snapshots = listSnapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshotPath(snapshots.get(i));
+            if (isIntact(path)) {
+                return load(path, sink);
+            }
+            log.warn("Ignoring corrupted snapshot {}", path);
+        }
+        return WriteAheadLog.Checkpoint.NONE;
+    }
+
+    private WriteAheadLog.Checkpoint load(Path path, Consumer<Order> sink) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            WriteAheadLog.Checkpoint checkpoint = readHeader(in, path);
+            while (in.readByte() == ENTRY) {
+                sink.accept(OrderRecordCodec.read(in));
+            }
+            return checkpoint;
+        }
+    }
+
+    /**
+     * Comprueba el CRC antes de aplicar nada, para no cargar a medias un snapshot dañado.
+     */
+    private static boolean isIntact(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < Integer.BYTES) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        try (InputStream file = Files.newInputStream(path);
+             CheckedInputStream in = new CheckedInputStream(new BufferedInputStream(file, 64 * 1024), crc)) {
+            byte[] chunk = new byte[64 * 1024];
+            long remaining = size - Integer.BYTES;
+            while (remaining > 0) {
+                int read = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                remaining -= read;
+            }
+            int actual = (int) crc.getValue();
+            return new DataInputStream(in).readInt() == actual;
+        }
+    }
+
+    private static WriteAheadLog.Checkpoint readHeader(DataInputStream in, Path path) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != FORMAT_V1) {
+            throw new IOException("Not an order snapshot: " + path);
+        }
+        return new WriteAheadLog.Checkpoint(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Hace durable el renombrado. Algunos sistemas (Windows) no permiten abrir un
+     * directorio; ahí el renombrado ya es durable y no hay nada que sincronizar.
+     */
+    private void syncDirectory() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            log.debug("Cannot open {} to sync it", directory, e);
+            return;
+        }
+        try (FileChannel opened = channel) {
+            opened.force(true);
+        }
+    }
+
+    private List<Long> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted(Comparator.naturalOrder())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path snapshotPath(long segment) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, segment, SUFFIX));
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio en dos niveles: los pedidos viven en un {@link InMemoryOrderRepository} y los
+ * cerrados (confirmados o cancelados) con más antigüedad que la indicada se trasladan en
+ * segundo plano a un {@link OrderArchive} en disco, para que la memoria no crezca sin límite.
+ *
+ * <p>Un pedido cerrado ya no cambia, así que cada traslado escribe primero el segmento y
+ * después retira de memoria los pedidos que no se han modificado entretanto: en ningún
+ * momento deja de encontrarse. Las escrituras van siempre a memoria; un guardado
+ * condicional de un pedido archivado no lo encuentra y devuelve false. Un pedido que ya
+ * está en el archivo no se vuelve a archivar: si se modificó mientras se trasladaba, o se
+ * guardó de nuevo después, su copia en memoria se queda ahí y tapa la archivada, así que
+ * cada pedido aparece como mucho una vez en el archivo.</p>
+ *
+ * <p>Las búsquedas por ID, por cliente, por estado y por fecha, y los recorridos completos,
+ * consultan la memoria y después el archivo; si un pedido está en los dos niveles gana el de
+ * memoria. La paginación con cursor solo cubre los pedidos en memoria.</p>
+ *
+ * <p>Archivar solo libera la memoria de este repositorio: el modelo de lectura
+ * ({@link InMemoryOrderReadModel}) conserva la vista de cada pedido archivado, porque
+ * los listados siguen incluyéndolos.</p>
+ */
+@Slf4j
+public class TieredOrderRepository implements OrderRepository, Closeable {
+
+    private final InMemoryOrderRepository hot;
+    private final OrderArchive archive;
+    private final Duration closedAfter;
+    private final int maxSegmentOrders;
+    private final ScheduledExecutorService archiver;
+
+    /**
+     * @param directory Directorio de los segmentos del archivo
+     * @param closedAfter Antigüedad a partir de la cual se archiva un pedido cerrado
+     * @param interval Intervalo entre pasadas del archivador; 0 las desactiva
+     * @param blockSize Número de pedidos por bloque comprimido
+     * @param maxSegmentOrders Número máximo de pedidos por segmento
+     */
+    public TieredOrderRepository(InMemoryOrderRepository hot, Path directory, Duration closedAfter, Duration interval,
+                                 int blockSize, int maxSegmentOrders) {
+        if (closedAfter.isNegative() || interval.isNegative() || maxSegmentOrders <= 0) {
+            throw new IllegalArgumentException("Invalid retention settings: closedAfter=" + closedAfter
+                    + ", interval=" + interval + ", maxSegmentOrders=" + maxSegmentOrders);
+        }
+        this.hot = hot;
+        this.closedAfter = closedAfter;
+        this.maxSegmentOrders = maxSegmentOrders;
+        try {
+            this.archive = new OrderArchive(directory, blockSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order archive in " + directory, e);
+        }
+        log.info("Opened order archive with {} orders in {} segments", archive.size(), archive.segmentCount());
+        if (interval.isZero()) {
+            this.archiver = null;
+        } else {
+            this.archiver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "order-archiver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = interval.toMillis();
+            archiver.scheduleWithFixedDelay(this::scheduledArchive, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Traslada al archivo los pedidos cerrados creados antes del plazo de retención, en
+     * segmentos de como mucho maxSegmentOrders pedidos.
+     *
+     * @return Número de pedidos retirados de memoria
+     */
+    public synchronized long archiveClosedOrders() {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(closedAfter);
+        long removed = 0;
+        int segments = 0;
+        List<Order> batch = new ArrayList<>();
+        try (Stream<Order> candidates = hot.streamByCreatedAtBetween(LocalDateTime.MIN, cutoff)) {
+            Iterator<Order> iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                Order order = iterator.next();
+                if ((order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.CANCELLED)
+                        && !archive.contains(order.getId())) {
+                    batch.add(order);
+                }
+                if (batch.size() == maxSegmentOrders || (!iterator.hasNext() && !batch.isEmpty())) {
+                    removed += moveToArchive(batch);
+                    segments++;
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write order archive segment", e);
+        }
+        if (segments > 0) {
+            log.info("Archived {} closed orders created before {} into {} segments in {} ms",
+                    removed, cutoff, segments, (System.nanoTime() - start) / 1_000_000);
+        }
+        return removed;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return hot.save(order);
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return hot.saveAll(orders);
+    }
+
+    @Override
+    public boolean compareAndSave(Order order) {
+        return hot.compareAndSave(order);
+    }
+
+    @Override
+    public List<Boolean> compareAndSaveAll(List<Order> orders) {
+        return hot.compareAndSaveAll(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(String id) {
+        Optional<Order> order = hot.findById(id);
+        return order.isPresent() ? order : archive.findById(id);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        List<Order> found = hot.findAllById(ids);
+        if (found.size() == ids.size()) {
+            return found;
+        }
+        Set<String> inMemory = idsOf(found);
+        for (String id : ids) {
+            if (!inMemory.contains(id)) {
+                archive.findById(id).ifPresent(found::add);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Order> findAll() {
+        try (Stream<Order> orders = streamAll()) {
+            return orders.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return Stream.concat(hot.streamAll(), archive.stream().filter(order -> !hot.contains(order.getId())));
+    }
+
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return hot.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return merge(hot.findByCustomerId(customerId), archive.findByCustomerId(customerId));
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        List<Order> inMemory = hot.findByStatus(status);
+        if (status != OrderStatus.CONFIRMED && status != OrderStatus.CANCELLED) {
+            return inMemory;
+        }
+        try (Stream<Order> archived = archive.stream()) {
+            return merge(inMemory, archived.filter(order -> order.getStatus() == status).collect(Collectors.toList()));
+        }
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        List<Order> result;
+        try (Stream<Order> archived = archive.streamByCreatedAtBetween(from, to)) {
+            result = merge(hot.findByCreatedAtBetween(from, to), archived.collect(Collectors.toList()));
+        }
+        result.sort((a, b) -> new CreatedAtKey(a.getCreatedAt(), a.getId())
+                .compareTo(new CreatedAtKey(b.getCreatedAt(), b.getId())));
+        return result;
+    }
+
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return Stream.concat(hot.streamByCreatedAtBetween(from, to),
+                archive.streamByCreatedAtBetween(from, to).filter(order -> !hot.contains(order.getId())));
+    }
+
+    /**
+     * Número de pedidos archivados en disco.
+     */
+    public long archivedOrders() {
+        return archive.size();
+    }
+
+    public int archiveSegments() {
+        return archive.segmentCount();
+    }
+
+    /**
+     * Búsquedas en segmentos del archivo descartadas sin leer el disco.
+     */
+    public long archiveBloomSkips() {
+        return archive.bloomSkips();
+    }
+
+    /**
+     * Búsquedas que han leído un segmento del archivo.
+     */
+    public long archiveSegmentReads() {
+        return archive.segmentReads();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (archiver != null) {
+            archiver.shutdown();
+            try {
+                archiver.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        archive.close();
+    }
+
+    private void scheduledArchive() {
+        try {
+            archiveClosedOrders();
+        } catch (RuntimeException e) {
+            log.error("Order archiving failed; closed orders stay in memory until the next attempt", e);
+        }
+    }
+
+    /**
+     * El segmento se escribe antes de retirar nada, así que el pedido siempre está en algún nivel.
+     */
+    private long moveToArchive(List<Order> orders) throws IOException {
+        archive.append(orders);
+        long removed = 0;
+        for (Order order : orders) {
+            if (hot.removeIfUnchanged(order)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Añade a los pedidos en memoria los archivados que no están también en memoria.
+     */
+    private static List<Order> merge(List<Order> inMemory, List<Order> archived) {
+        if (archived.isEmpty()) {
+            return inMemory;
+        }
+        Set<String> ids = idsOf(inMemory);
+        List<Order> result = new ArrayList<>(inMemory.size() + archived.size());
+        result.addAll(inMemory);
+        for (Order order : archived) {
+            if (ids.add(order.getId())) {
+                result.add(order);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> idsOf(List<Order> orders) {
+        Set<String> ids = new HashSet<>(orders.size() * 2);
+        for (Order order : orders) {
+            ids.add(order.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,542 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.events.SequencedOrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderEventSink;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador secundario que persiste los pedidos en un write-ahead log en disco.
+ *
+ * <p>Cada save se anexa al log y no se confirma al llamante hasta que es durable;
+ * los saves concurrentes comparten un único fsync. El estado consultable se mantiene
+ * en un {@link InMemoryOrderRepository} que se reconstruye al arrancar reproduciendo
+ * el log, y que solo se actualiza después de que el cambio esté en disco.</p>
+ *
+ * <p>Periódicamente se escribe un snapshot binario del estado sin detener a los
+ * escritores: se sella el segmento activo, se recorre el estado en memoria mientras
+ * las escrituras siguen entrando en el segmento nuevo, y después se borran los
+ * segmentos cubiertos. Como cada registro contiene el pedido completo, reproducir
+ * sobre el snapshot un registro que este ya incluía es inocuo. Al arrancar se carga
+ * el último snapshot y solo se reproduce la cola del log.</p>
+ *
+ * <p>Los guardados condicionales reservan la nueva versión del pedido antes de anexarse
+ * al log. Mientras la reserva existe, cualquier otro guardado condicional del mismo
+ * pedido falla; la reserva se libera al aplicar el cambio al estado.</p>
+ *
+ * <p>Con el outbox activado, cada guardado que crea un pedido o cambia su estado lleva
+ * en el mismo registro del log el evento correspondiente, de modo que el cambio y su
+ * evento son durables a la vez. El LSN del registro es la secuencia del evento. Los
+ * eventos pendientes se mantienen en memoria hasta que el {@link OutboxRelay} los envía
+ * y anota en el log hasta qué secuencia se han entregado. Antes de escribir un snapshot
+ * se copian a un registro nuevo los pendientes de los segmentos que se van a borrar.</p>
+ */
+@Slf4j
+public class WalOrderRepository implements OrderRepository, Closeable {
+
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final byte RECORD_SAVE = 1;
+    private static final byte RECORD_SAVE_WITH_EVENT = 2;
+    private static final byte RECORD_OUTBOX_ACK = 3;
+    private static final byte RECORD_OUTBOX_CARRY = 4;
+    private static final int MAX_CARRIED_EVENTS_PER_RECORD = 10_000;
+
+    private final InMemoryOrderRepository state = new InMemoryOrderRepository();
+    private final ConcurrentMap<String, Long> inFlightVersions = new ConcurrentHashMap<>();
+    private final SnapshotStore snapshots;
+    private final WriteAheadLog wal;
+    private final ScheduledExecutorService snapshotScheduler;
+    private final boolean outboxEnabled;
+    // Solo el hilo escritor del log (o la recuperación) modifica el outbox y sus contadores
+    private final ConcurrentNavigableMap<Long, OrderEvent> outbox = new ConcurrentSkipListMap<>();
+    private volatile long outboxAcknowledgedThrough = -1;
+    private volatile int outboxPending;
+    private OutboxRelay relay;
+    private long lastSnapshotLsn;
+
+    public WalOrderRepository(Path directory) {
+        this(directory, DEFAULT_SEGMENT_BYTES, Duration.ZERO);
+    }
+
+    public WalOrderRepository(Path directory, long maxSegmentBytes, Duration snapshotInterval) {
+        this(directory, maxSegmentBytes, snapshotInterval, false);
+    }
+
+    /**
+     * @param snapshotInterval Intervalo entre snapshots automáticos; cero los desactiva
+     * @param outboxEnabled Si los guardados escriben sus eventos en el outbox
+     */
+    public WalOrderRepository(Path directory, long maxSegmentBytes, Duration snapshotInterval, boolean outboxEnabled) {
+        this.outboxEnabled = outboxEnabled;
+        this.snapshots = new SnapshotStore(directory);
+        long start = System.nanoTime();
+        long[] counts = new long[2];
+        try {
+            WriteAheadLog.Checkpoint checkpoint = snapshots.loadLatest(order -> {
+                state.save(order);
+                counts[0]++;
+            });
+            long snapshotLoaded = System.nanoTime();
+            this.wal = WriteAheadLog.open(directory, maxSegmentBytes, checkpoint, (lsn, payload) -> {
+                apply(lsn, payload);
+                counts[1]++;
+            });
+            long end = System.nanoTime();
+            this.lastSnapshotLsn = checkpoint.getLsn();
+            log.info("Recovered {} orders from snapshot in {} ms and replayed {} log records in {} ms ({} records/s); "
+                            + "order store ready in {} ms",
+                    counts[0], (snapshotLoaded - start) / 1_000_000,
+                    counts[1], (end - snapshotLoaded) / 1_000_000, perSecond(counts[1], end - snapshotLoaded),
+                    (end - start) / 1_000_000);
+            if (outboxEnabled) {
+                log.info("Order event outbox has {} pending events", outboxPending);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover order store from " + directory, e);
+        }
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            this.snapshotScheduler = null;
+        } else {
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = snapshotInterval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::scheduledSnapshot, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order snapshot = order.toBuilder().build();
+        OrderEvent event = outboxEvent(state.findById(snapshot.getId()).orElse(null), snapshot);
+        await(wal.append(Collections.singletonList(encode(snapshot, event)), lsn -> {
+            state.save(snapshot);
+            addToOutbox(lsn, event);
+        }));
+        return order;
+    }
+
+    /**
+     * Todos los pedidos del lote se anexan juntos y comparten un único fsync.
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        List<Order> snapshots = new ArrayList<>(orders.size());
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        List<byte[]> records = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            Order snapshot = order.toBuilder().build();
+            OrderEvent event = outboxEvent(state.findById(snapshot.getId()).orElse(null), snapshot);
+            snapshots.add(snapshot);
+            events.add(event);
+            records.add(encode(snapshot, event));
+        }
+        await(wal.append(records, firstLsn -> {
+            for (int i = 0; i < snapshots.size(); i++) {
+                state.save(snapshots.get(i));
+                addToOutbox(firstLsn + i, events.get(i));
+            }
+        }));
+        return orders;
+    }
+
+    @Override
+    public boolean compareAndSave(Order order) {
+        return compareAndSaveAll(Collections.singletonList(order)).get(0);
+    }
+
+    /**
+     * Los pedidos cuya versión se pudo reservar se anexan juntos y comparten un único fsync.
+     */
+    @Override
+    public List<Boolean> compareAndSaveAll(List<Order> orders) {
+        List<Boolean> saved = new ArrayList<>(orders.size());
+        List<Order> snapshots = new ArrayList<>(orders.size());
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        List<byte[]> records = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            Order snapshot = order.toBuilder().version(order.getVersion() + 1).build();
+            Order previous = reserve(snapshot);
+            saved.add(previous != null);
+            if (previous != null) {
+                OrderEvent event = outboxEvent(previous, snapshot);
+                snapshots.add(snapshot);
+                events.add(event);
+                records.add(encode(snapshot, event));
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return saved;
+        }
+        try {
+            await(wal.append(records, firstLsn -> {
+                for (int i = 0; i < snapshots.size(); i++) {
+                    Order snapshot = snapshots.get(i);
+                    state.save(snapshot);
+                    inFlightVersions.remove(snapshot.getId(), snapshot.getVersion());
+                    addToOutbox(firstLsn + i, events.get(i));
+                }
+            }));
+        } catch (RuntimeException e) {
+            snapshots.forEach(snapshot -> inFlightVersions.remove(snapshot.getId(), snapshot.getVersion()));
+            throw e;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            if (saved.get(i)) {
+                Order order = orders.get(i);
+                order.setVersion(order.getVersion() + 1);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Order> findById(String id) {
+        return state.findById(id);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        return state.findAllById(ids);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return state.findAll();
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return state.streamAll();
+    }
+
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return state.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return state.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return state.findByStatus(status);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return state.findByCreatedAtBetween(from, to);
+    }
+
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return state.streamByCreatedAtBetween(from, to);
+    }
+
+    /**
+     * Registros anexados al log desde el arranque.
+     */
+    public long appendedRecords() {
+        return wal.appendedRecords();
+    }
+
+    /**
+     * Número de fsync realizados desde el arranque; junto con {@link #appendedRecords()}
+     * indica cuántas escrituras comparte cada fsync.
+     */
+    public long syncs() {
+        return wal.syncs();
+    }
+
+    /**
+     * Arranca el hilo que envía los eventos del outbox al destino indicado. El relay se
+     * detiene al cerrar el repositorio, después de intentar enviar los pendientes.
+     *
+     * @throws IllegalStateException si el outbox no está activado o ya hay un relay
+     */
+    public synchronized OutboxRelay startOutboxRelay(OrderEventSink sink, int batchSize, Duration pollInterval) {
+        if (!outboxEnabled) {
+            throw new IllegalStateException("Order event outbox is not enabled");
+        }
+        if (relay != null) {
+            throw new IllegalStateException("Order event outbox relay already started");
+        }
+        relay = new OutboxRelay(this, sink, batchSize, pollInterval);
+        return relay;
+    }
+
+    /**
+     * Los eventos pendientes más antiguos, en orden de secuencia.
+     */
+    List<SequencedOrderEvent> pendingEvents(int max) {
+        List<SequencedOrderEvent> pending = new ArrayList<>(Math.min(max, outboxPending));
+        for (Map.Entry<Long, OrderEvent> entry : outbox.entrySet()) {
+            if (pending.size() == max) {
+                break;
+            }
+            pending.add(new SequencedOrderEvent(entry.getKey(), entry.getValue()));
+        }
+        return pending;
+    }
+
+    int pendingEventCount() {
+        return outboxPending;
+    }
+
+    /**
+     * Anota de forma durable que los eventos hasta la secuencia indicada se han entregado
+     * y los quita del outbox.
+     */
+    void acknowledgeEvents(long throughSequence) {
+        byte[] record = new byte[1 + Long.BYTES];
+        record[0] = RECORD_OUTBOX_ACK;
+        ByteBuffer.wrap(record, 1, Long.BYTES).putLong(throughSequence);
+        await(wal.append(Collections.singletonList(record), () -> acknowledged(throughSequence)));
+    }
+
+    /**
+     * Escribe un snapshot del estado actual y borra los segmentos del log que cubre.
+     * Los escritores solo se detienen durante el sellado del segmento activo.
+     *
+     * @return Número de pedidos del snapshot, o -1 si no había cambios desde el anterior
+     */
+    public synchronized long snapshot() throws IOException {
+        WriteAheadLog.Checkpoint checkpoint = await(wal.seal());
+        if (checkpoint.getLsn() == lastSnapshotLsn) {
+            return -1;
+        }
+        long coveredLsn = checkpoint.getLsn();
+        if (outboxEnabled) {
+            // Los eventos pendientes de los segmentos que se van a borrar pasan al segmento nuevo
+            List<byte[]> carry = encodeCarry(outbox.headMap(checkpoint.getLsn(), true));
+            long carryLsn = await(wal.append(carry, () -> { }));
+            if (carryLsn - carry.size() == checkpoint.getLsn()) {
+                // Nada se escribió entre el sellado y el arrastre: el arrastre no es un cambio
+                // y el siguiente snapshot no debe repetirse solo por él
+                coveredLsn = carryLsn;
+            }
+        }
+        long start = System.nanoTime();
+        long written;
+        try (Stream<Order> orders = state.streamAll()) {
+            written = snapshots.write(checkpoint, orders.iterator());
+        }
+        wal.deleteSegmentsUpTo(checkpoint.getSegment());
+        lastSnapshotLsn = coveredLsn;
+        log.info("Wrote snapshot of {} orders up to LSN {} in {} ms",
+                written, checkpoint.getLsn(), (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (relay != null) {
+                relay.close();
+            }
+        }
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+            try {
+                snapshotScheduler.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        wal.close();
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Periodic snapshot failed; the log keeps every change until the next attempt", e);
+        }
+    }
+
+    /**
+     * Reserva la versión del snapshot si el pedido existe, su versión en el estado es la
+     * anterior y no hay otro guardado condicional en curso para él.
+     *
+     * @return El pedido guardado que se va a sustituir, o null si no se pudo reservar
+     */
+    private Order reserve(Order snapshot) {
+        long expectedVersion = snapshot.getVersion() - 1;
+        Order[] previous = new Order[1];
+        inFlightVersions.computeIfAbsent(snapshot.getId(), id -> {
+            previous[0] = state.findById(id)
+                    .filter(current -> current.getVersion() == expectedVersion)
+                    .orElse(null);
+            return previous[0] != null ? snapshot.getVersion() : null;
+        });
+        return previous[0];
+    }
+
+    /**
+     * El evento que produce guardar el snapshot sobre el pedido anterior: la creación o el
+     * paso a confirmado o cancelado. Null si el outbox no está activado o no hay cambio.
+     */
+    private OrderEvent outboxEvent(Order previous, Order snapshot) {
+        if (!outboxEnabled) {
+            return null;
+        }
+        if (previous == null) {
+            return OrderCreated.of(snapshot);
+        }
+        if (previous.getStatus() != snapshot.getStatus()
+                && (snapshot.getStatus() == OrderStatus.CONFIRMED || snapshot.getStatus() == OrderStatus.CANCELLED)) {
+            return OrderEvent.statusChanged(snapshot);
+        }
+        return null;
+    }
+
+    private void addToOutbox(long sequence, OrderEvent event) {
+        if (event != null && outboxEnabled && sequence > outboxAcknowledgedThrough
+                && outbox.put(sequence, event) == null) {
+            outboxPending++;
+        }
+    }
+
+    private void acknowledged(long throughSequence) {
+        if (throughSequence <= outboxAcknowledgedThrough) {
+            return;
+        }
+        outboxAcknowledgedThrough = throughSequence;
+        int removed = 0;
+        for (Iterator<Long> delivered = outbox.headMap(throughSequence, true).keySet().iterator();
+             delivered.hasNext(); ) {
+            delivered.next();
+            delivered.remove();
+            removed++;
+        }
+        outboxPending -= removed;
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1_000_000_000L / nanos : count;
+    }
+
+    private static byte[] encode(Order order, OrderEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(event != null ? 160 : 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(event != null ? RECORD_SAVE_WITH_EVENT : RECORD_SAVE);
+            OrderRecordCodec.write(out, order);
+            if (event != null) {
+                OrderRecordCodec.writeEvent(out, event);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Registros con los eventos pendientes indicados y la secuencia entregada hasta ahora.
+     * Siempre hay al menos uno, aunque no haya pendientes.
+     */
+    private List<byte[]> encodeCarry(Map<Long, OrderEvent> pending) {
+        List<byte[]> records = new ArrayList<>();
+        List<Map.Entry<Long, OrderEvent>> entries = new ArrayList<>(pending.entrySet());
+        int from = 0;
+        do {
+            int to = Math.min(entries.size(), from + MAX_CARRIED_EVENTS_PER_RECORD);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + (to - from) * 64);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(RECORD_OUTBOX_CARRY);
+                out.writeLong(outboxAcknowledgedThrough);
+                out.writeInt(to - from);
+                for (Map.Entry<Long, OrderEvent> entry : entries.subList(from, to)) {
+                    out.writeLong(entry.getKey());
+                    OrderRecordCodec.writeEvent(out, entry.getValue());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            records.add(bytes.toByteArray());
+            from = to;
+        } while (from < entries.size());
+        return records;
+    }
+
+    private void apply(long lsn, byte[] record) throws IOException {
+        if (record.length == 0) {
+            throw new IOException("Empty write-ahead log record");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, 1, record.length - 1));
+        switch (record[0]) {
+            case RECORD_SAVE:
+                state.save(OrderRecordCodec.read(in));
+                break;
+            case RECORD_SAVE_WITH_EVENT:
+                state.save(OrderRecordCodec.read(in));
+                addToOutbox(lsn, OrderRecordCodec.readEvent(in));
+                break;
+            case RECORD_OUTBOX_ACK:
+                acknowledged(in.readLong());
+                break;
+            case RECORD_OUTBOX_CARRY:
+                acknowledged(in.readLong());
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long sequence = in.readLong();
+                    addToOutbox(sequence, OrderRecordCodec.readEvent(in));
+                }
+                break;
+            default:
+                throw new IOException("Unknown write-ahead log record type: " + record[0]);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
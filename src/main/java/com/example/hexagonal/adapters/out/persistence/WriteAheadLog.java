@@ -0,0 +1,458 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escritura anticipada (write-ahead log) formado por segmentos de solo anexado.
+ *
+ * <p>Un único hilo escritor agrupa todas las peticiones que se acumulan mientras se
+ * completa el fsync anterior (group commit): cuantos más escritores concurrentes,
+ * más registros comparte cada fsync. Las acciones {@code onDurable} se ejecutan en
+ * el hilo escritor en orden de LSN, lo que permite aplicar los cambios en memoria en
+ * el mismo orden en que quedaron en disco.</p>
+ *
+ * <p>Formato de cada registro: longitud (int), CRC32 (int), LSN (long) y payload.
+ * Al abrir el log, un registro incompleto o corrupto al final del último segmento
+ * se considera una escritura interrumpida y se trunca.</p>
+ *
+ * <p>Para acotar la recuperación, {@link #seal()} cierra el segmento activo y
+ * devuelve un {@link Checkpoint}; una vez que un snapshot cubre ese checkpoint, los
+ * segmentos sellados pueden borrarse con {@link #deleteSegmentsUpTo(long)}.</p>
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    /**
+     * Recibe los registros leídos durante la recuperación.
+     */
+    interface RecordHandler {
+        void onRecord(long lsn, byte[] payload) throws IOException;
+    }
+
+    /**
+     * Posición del log: todos los registros con LSN menor o igual que {@code lsn}
+     * están en segmentos con índice menor o igual que {@code segment}.
+     */
+    @Value
+    static class Checkpoint {
+        static final Checkpoint NONE = new Checkpoint(0, -1);
+
+        long segment;
+        long lsn;
+    }
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_BATCH = 4_096;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile long segmentIndex;
+    private final LongAdder appendedRecords = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private volatile boolean running = true;
+
+    // Solo accedidos desde el hilo escritor una vez arrancado
+    private FileChannel channel;
+    private long segmentSize;
+    private long nextLsn;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final CRC32 crc = new CRC32();
+
+    private WriteAheadLog(Path directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.writer = new Thread(this::runWriter, "wal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Abre el log en el directorio indicado, reproduciendo todos los registros
+     * existentes antes de aceptar nuevas escrituras.
+     */
+    static WriteAheadLog open(Path directory, long maxSegmentBytes, RecordHandler handler) throws IOException {
+        return open(directory, maxSegmentBytes, Checkpoint.NONE, handler);
+    }
+
+    /**
+     * Abre el log reproduciendo solo los registros posteriores al checkpoint
+     * indicado, normalmente el cubierto por el último snapshot.
+     */
+    static WriteAheadLog open(Path directory, long maxSegmentBytes, Checkpoint from, RecordHandler handler)
+            throws IOException {
+        Files.createDirectories(directory);
+        WriteAheadLog log = new WriteAheadLog(directory, maxSegmentBytes);
+        log.recover(from, handler);
+        log.writer.start();
+        return log;
+    }
+
+    /**
+     * Anexa un lote de registros. El futuro se completa con el LSN del último registro
+     * cuando todos son durables y {@code onDurable} se ha ejecutado.
+     */
+    CompletableFuture<Long> append(List<byte[]> payloads, Runnable onDurable) {
+        return append(payloads, firstLsn -> onDurable.run());
+    }
+
+    /**
+     * Como {@link #append(List, Runnable)}, pero {@code onDurable} recibe el LSN del primer
+     * registro del lote; los demás tienen LSN consecutivos.
+     */
+    CompletableFuture<Long> append(List<byte[]> payloads, LongConsumer onDurable) {
+        for (byte[] payload : payloads) {
+            if (payload.length > MAX_RECORD_BYTES) {
+                throw new IllegalArgumentException("Record too large: " + payload.length + " bytes");
+            }
+        }
+        PendingAppend pending = new PendingAppend(payloads, onDurable, false);
+        enqueue(pending);
+        return pending.future;
+    }
+
+    /**
+     * Cierra el segmento activo para que el siguiente registro empiece uno nuevo.
+     * El checkpoint devuelto se completa cuando todos los registros anteriores son
+     * durables y se han aplicado sus acciones {@code onDurable}.
+     */
+    CompletableFuture<Checkpoint> seal() {
+        PendingAppend pending = new PendingAppend(Collections.emptyList(), null, true);
+        enqueue(pending);
+        return pending.sealed;
+    }
+
+    /**
+     * Borra los segmentos sellados con índice menor o igual que el indicado.
+     * El segmento activo nunca se borra.
+     */
+    void deleteSegmentsUpTo(long segment) throws IOException {
+        long active = segmentIndex;
+        for (long index : listSegments()) {
+            if (index <= segment && index < active) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+    }
+
+    private void enqueue(PendingAppend pending) {
+        if (running) {
+            queue.add(pending);
+            if (running || writer.isAlive() || !queue.remove(pending)) {
+                return;
+            }
+        }
+        IllegalStateException closed = new IllegalStateException("Write-ahead log is closed");
+        pending.future.completeExceptionally(closed);
+        pending.sealed.completeExceptionally(closed);
+    }
+
+    long appendedRecords() {
+        return appendedRecords.sum();
+    }
+
+    long syncs() {
+        return syncs.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // No se interrumpe al escritor: una interrupción durante una operación de E/S
+        // cerraría el FileChannel. El hilo sale solo tras vaciar la cola.
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void runWriter() {
+        List<PendingAppend> batch = new ArrayList<>();
+        List<PendingAppend> appends = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (PendingAppend pending : batch) {
+                    if (pending.seal) {
+                        // Lo anterior al sellado debe ser durable y estar aplicado antes de cerrar el segmento
+                        commit(appends);
+                        appends.clear();
+                        seal(pending);
+                    } else {
+                        appends.add(pending);
+                    }
+                }
+                commit(appends);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+                appends.clear();
+            }
+        }
+        PendingAppend rejected;
+        while ((rejected = queue.poll()) != null) {
+            IllegalStateException closed = new IllegalStateException("Write-ahead log is closed");
+            rejected.future.completeExceptionally(closed);
+            rejected.sealed.completeExceptionally(closed);
+        }
+    }
+
+    private void seal(PendingAppend pending) {
+        try {
+            if (segmentSize > 0) {
+                rollSegment();
+            }
+            pending.sealed.complete(new Checkpoint(segmentIndex - 1, nextLsn - 1));
+        } catch (IOException e) {
+            log.error("Could not seal write-ahead log segment {}", segmentIndex, e);
+            pending.sealed.completeExceptionally(new UncheckedIOException(e));
+        }
+    }
+
+    private void commit(List<PendingAppend> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long batchStart = segmentSize;
+        long segmentAtStart = segmentIndex;
+        long lsnAtStart = nextLsn;
+        int records = 0;
+        try {
+            for (PendingAppend pending : batch) {
+                pending.firstLsn = nextLsn;
+                for (byte[] payload : pending.payloads) {
+                    writeRecord(payload);
+                    records++;
+                }
+                pending.lastLsn = nextLsn - 1;
+            }
+            flushBuffer();
+            channel.force(false);
+            syncs.increment();
+            appendedRecords.add(records);
+        } catch (IOException e) {
+            log.error("Write-ahead log append failed, rejecting {} pending writes", batch.size(), e);
+            nextLsn = lsnAtStart;
+            buffer.clear();
+            discardTail(segmentAtStart, batchStart);
+            for (PendingAppend pending : batch) {
+                pending.future.completeExceptionally(new UncheckedIOException(e));
+            }
+            return;
+        }
+        for (PendingAppend pending : batch) {
+            try {
+                if (pending.onDurable != null) {
+                    pending.onDurable.accept(pending.firstLsn);
+                }
+                pending.future.complete(pending.lastLsn);
+            } catch (RuntimeException e) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void writeRecord(byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (segmentSize + buffer.position() + recordBytes > maxSegmentBytes && segmentSize + buffer.position() > 0) {
+            rollSegment();
+        }
+        if (buffer.remaining() < recordBytes) {
+            flushBuffer();
+            if (buffer.capacity() < recordBytes) {
+                buffer = ByteBuffer.allocateDirect(recordBytes);
+            }
+        }
+        long lsn = nextLsn++;
+        int start = buffer.position();
+        buffer.putInt(payload.length);
+        buffer.putInt(0);
+        buffer.putLong(lsn);
+        buffer.put(payload);
+        crc.reset();
+        crc.update(buffer.duplicate().position(start + Integer.BYTES * 2).limit(buffer.position()));
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            segmentSize += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void rollSegment() throws IOException {
+        flushBuffer();
+        channel.force(false);
+        channel.close();
+        openSegment(segmentIndex + 1);
+    }
+
+    private void openSegment(long index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+    /**
+     * Tras un fallo de escritura deja el log como estaba antes del lote, para que
+     * un registro no confirmado al llamante no reaparezca en la recuperación.
+     */
+    private void discardTail(long segmentAtStart, long sizeAtStart) {
+        try {
+            while (segmentIndex > segmentAtStart) {
+                channel.close();
+                Files.deleteIfExists(segmentPath(segmentIndex));
+                openSegment(segmentIndex - 1);
+            }
+            channel.truncate(sizeAtStart);
+            segmentSize = sizeAtStart;
+        } catch (IOException e) {
+            log.error("Could not discard partially written batch in segment {}", segmentIndex, e);
+        }
+    }
+
+    private void recover(Checkpoint from, RecordHandler handler) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        for (long index : listSegments()) {
+            if (index <= from.getSegment()) {
+                // Cubierto por el snapshot; queda si el proceso cayó antes de poder borrarlo
+                Files.deleteIfExists(segmentPath(index));
+            } else {
+                segments.add(index);
+            }
+        }
+        long lastLsn = from.getLsn();
+        for (int i = 0; i < segments.size(); i++) {
+            boolean lastSegment = i == segments.size() - 1;
+            lastLsn = Math.max(lastLsn, replaySegment(segments.get(i), lastSegment, handler));
+        }
+        nextLsn = lastLsn + 1;
+        openSegment(segments.isEmpty() ? from.getSegment() + 1 : segments.get(segments.size() - 1));
+    }
+
+    private long replaySegment(long index, boolean lastSegment, RecordHandler handler) throws IOException {
+        Path path = segmentPath(index);
+        long lastLsn = -1;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (position < size) {
+                header.clear();
+                String problem = null;
+                if (size - position < HEADER_BYTES) {
+                    problem = "truncated header";
+                } else {
+                    readFully(in, header, position);
+                    header.flip();
+                    int length = header.getInt();
+                    int checksum = header.getInt();
+                    long lsn = header.getLong();
+                    if (length < 0 || length > MAX_RECORD_BYTES || size - position - HEADER_BYTES < length) {
+                        problem = "truncated record";
+                    } else {
+                        ByteBuffer payload = ByteBuffer.allocate(length);
+                        readFully(in, payload, position + HEADER_BYTES);
+                        crc.reset();
+                        crc.update(header.duplicate().position(Integer.BYTES * 2).limit(HEADER_BYTES));
+                        crc.update(payload.array(), 0, length);
+                        if ((int) crc.getValue() != checksum) {
+                            problem = "checksum mismatch";
+                        } else {
+                            handler.onRecord(lsn, payload.array());
+                            lastLsn = lsn;
+                            position += HEADER_BYTES + length;
+                        }
+                    }
+                }
+                if (problem != null) {
+                    if (!lastSegment) {
+                        throw new IOException("Corrupted write-ahead log segment " + path + " at " + position + ": " + problem);
+                    }
+                    log.warn("Discarding torn write at the end of {} (offset {}, {})", path, position, problem);
+                    in.truncate(position);
+                    break;
+                }
+            }
+        }
+        return lastLsn;
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = in.read(target, position + target.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static final class PendingAppend {
+        final List<byte[]> payloads;
+        final LongConsumer onDurable;
+        final boolean seal;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        final CompletableFuture<Checkpoint> sealed = new CompletableFuture<>();
+        long firstLsn;
+        long lastLsn;
+
+        PendingAppend(List<byte[]> payloads, LongConsumer onDurable, boolean seal) {
+            this.payloads = payloads;
+            this.onDurable = onDurable;
+            this.seal = seal;
+        }
+    }
+}
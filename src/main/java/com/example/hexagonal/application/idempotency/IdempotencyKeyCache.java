@@ -0,0 +1,229 @@
+package com.example.hexagonal.application.idempotency;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada y con caducidad que asocia cada clave de idempotencia al ID del pedido
+ * que creó.
+ *
+ * <p>Está dividida en segmentos con su propio cerrojo. Todas las claves viven lo mismo,
+ * así que en cada segmento el orden de inserción es también el de caducidad: las claves
+ * caducadas se retiran desde la cabeza al pasar por el segmento, y si aun así se supera
+ * el máximo se expulsa la más antigua que ya tenga resultado; las que siguen en curso
+ * no se expulsan nunca, aunque el segmento supere el máximo mientras tanto. Por cada
+ * clave se guarda solo el ID, los datos de la petición y el instante de caducidad.</p>
+ *
+ * <p>La primera petición con una clave ejecuta la acción fuera del cerrojo; las que llegan
+ * con la misma clave mientras tanto esperan su resultado en lugar de ejecutarla otra vez.
+ * Si la acción falla, la clave se libera para que un reintento pueda ejecutarla y las
+ * peticiones que esperaban reciben el mismo error.</p>
+ */
+public class IdempotencyKeyCache {
+    
+    public static final int MAX_KEY_LENGTH = 255;
+    
+    private static final int SEGMENTS = 16;
+    
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * @param maxKeys Número máximo de claves recordadas
+     * @param ttl Tiempo durante el que se recuerda cada clave
+     */
+    public IdempotencyKeyCache(int maxKeys, Duration ttl) {
+        this(maxKeys, ttl, System::nanoTime);
+    }
+    
+    IdempotencyKeyCache(int maxKeys, Duration ttl, LongSupplier nanoClock) {
+        if (maxKeys <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Invalid idempotency settings: maxKeys=" + maxKeys + ", ttl=" + ttl);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        int perSegment = Math.max(1, (maxKeys + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+    
+    /**
+     * Devuelve el ID asociado a la clave o, si no lo hay, ejecuta la acción y lo recuerda.
+     * 
+     * @param key Clave de idempotencia enviada por el cliente
+     * @param request Datos de la petición, que deben ser iguales (equals) en los reintentos
+     * @param action Crea el pedido y devuelve su ID
+     * @return El ID asociado a la clave
+     * @throws IllegalArgumentException si la clave está vacía o es demasiado larga
+     * @throws IllegalStateException si la clave ya se usó con otra petición
+     */
+    public String computeIfAbsent(String key, Object request, Supplier<String> action) {
+        if (key == null || key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Segment segment = segments[segmentIndex(key)];
+        KeyEntry entry;
+        boolean owner = false;
+        synchronized (segment) {
+            long now = nanoClock.getAsLong();
+            segment.expire(now);
+            entry = segment.entries.get(key);
+            if (entry == null) {
+                entry = new KeyEntry(request, now + ttlNanos);
+                segment.entries.put(key, entry);
+                owner = true;
+            }
+        }
+        if (!entry.request.equals(request)) {
+            throw new IllegalStateException("Idempotency key reused with a different request: " + key);
+        }
+        if (!owner) {
+            replays.increment();
+            return entry.await();
+        }
+        String orderId;
+        try {
+            orderId = action.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (segment) {
+                segment.entries.remove(key, entry);
+            }
+            entry.fail(e);
+            throw e;
+        }
+        entry.complete(orderId);
+        return orderId;
+    }
+    
+    /**
+     * Número de peticiones resueltas con el resultado de otra anterior con la misma clave.
+     */
+    public long replays() {
+        return replays.sum();
+    }
+    
+    public long evictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Número de claves recordadas, incluidas las caducadas que aún no se han retirado.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+    
+    private static int segmentIndex(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (SEGMENTS - 1);
+    }
+    
+    /**
+     * Segmento en orden de inserción; se accede siempre con su cerrojo.
+     */
+    private final class Segment {
+        
+        private final Map<String, KeyEntry> entries;
+        
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<String, KeyEntry>(Math.min(capacity, 1024)) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, KeyEntry> eldest) {
+                    if (size() <= capacity) {
+                        return false;
+                    }
+                    // Expulsar una clave en curso dejaría repetir su acción: se busca la más
+                    // antigua ya resuelta, quitándola directamente del mapa
+                    Iterator<KeyEntry> iterator = values().iterator();
+                    while (iterator.hasNext()) {
+                        if (!iterator.next().isPending()) {
+                            iterator.remove();
+                            evictions.increment();
+                            return false;
+                        }
+                    }
+                    return false;
+                }
+            };
+        }
+        
+        void expire(long now) {
+            Iterator<KeyEntry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                KeyEntry entry = iterator.next();
+                if (entry.expiresAtNanos - now > 0) {
+                    break;
+                }
+                if (!entry.isPending()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Mientras la acción está en curso los que esperan se apoyan en el future; al terminar
+     * con éxito se queda solo el ID y el future se suelta.
+     */
+    private static final class KeyEntry {
+        
+        final Object request;
+        final long expiresAtNanos;
+        volatile String orderId;
+        volatile CompletableFuture<String> pending = new CompletableFuture<>();
+        
+        KeyEntry(Object request, long expiresAtNanos) {
+            this.request = request;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        void complete(String id) {
+            CompletableFuture<String> future = pending;
+            orderId = id;
+            pending = null;
+            future.complete(id);
+        }
+        
+        boolean isPending() {
+            return pending != null;
+        }
+        
+        void fail(Throwable error) {
+            pending.completeExceptionally(error);
+        }
+        
+        String await() {
+            String id = orderId;
+            CompletableFuture<String> future = pending;
+            if (id != null || future == null) {
+                // orderId se escribe antes de soltar el future
+                return id != null ? id : orderId;
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.hexagonal.application.metrics;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.ConfirmOrderUseCase;
+
+/**
+ * Decorador que mide las llamadas al caso de uso de confirmación de pedidos.
+ */
+public class InstrumentedConfirmOrderUseCase implements ConfirmOrderUseCase {
+    
+    private final ConfirmOrderUseCase delegate;
+    private final MethodMetrics confirmOrder;
+    
+    public InstrumentedConfirmOrderUseCase(ConfirmOrderUseCase delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.confirmOrder = registry.method("ConfirmOrderUseCase.confirmOrder");
+    }
+    
+    @Override
+    public Order confirmOrder(String orderId) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Order order = delegate.confirmOrder(orderId);
+            failed = false;
+            return order;
+        } finally {
+            confirmOrder.record(start, failed);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.hexagonal.application.metrics;
+
+import com.example.hexagonal.domain.model.BatchItemResult;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import com.example.hexagonal.domain.ports.in.CreateOrderUseCase;
+
+import java.util.List;
+
+/**
+ * Decorador que mide las llamadas al caso de uso de creación de pedidos.
+ */
+public class InstrumentedCreateOrderUseCase implements CreateOrderUseCase {
+    
+    private final CreateOrderUseCase delegate;
+    private final MethodMetrics createOrder;
+    private final MethodMetrics createOrders;
+    
+    public InstrumentedCreateOrderUseCase(CreateOrderUseCase delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.createOrder = registry.method("CreateOrderUseCase.createOrder");
+        this.createOrders = registry.method("CreateOrderUseCase.createOrders");
+    }
+    
+    @Override
+    public Order createOrder(String customerId, double total) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Order order = delegate.createOrder(customerId, total);
+            failed = false;
+            return order;
+        } finally {
+            createOrder.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<BatchItemResult> createOrders(List<CreateOrderCommand> commands) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<BatchItemResult> results = delegate.createOrders(commands);
+            failed = false;
+            return results;
+        } finally {
+            createOrders.record(start, failed);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.hexagonal.application.metrics;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que mide cada operación del repositorio de pedidos.
+ * Delega también las operaciones por lotes, para conservar las versiones eficientes del
+ * adaptador decorado, y lo cierra al cerrarse si el adaptador lo requiere.
+ */
+public class InstrumentedOrderRepository implements OrderRepository, AutoCloseable {
+    
+    private final OrderRepository delegate;
+    private final MethodMetrics save;
+    private final MethodMetrics saveAll;
+    private final MethodMetrics compareAndSave;
+    private final MethodMetrics compareAndSaveAll;
+    private final MethodMetrics findById;
+    private final MethodMetrics findAllById;
+    private final MethodMetrics findAll;
+    private final MethodMetrics streamAll;
+    private final MethodMetrics findPage;
+    private final MethodMetrics findByCustomerId;
+    private final MethodMetrics findByStatus;
+    private final MethodMetrics findByCreatedAtBetween;
+    private final MethodMetrics streamByCreatedAtBetween;
+    
+    public InstrumentedOrderRepository(OrderRepository delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.save = registry.method("OrderRepository.save");
+        this.saveAll = registry.method("OrderRepository.saveAll");
+        this.compareAndSave = registry.method("OrderRepository.compareAndSave");
+        this.compareAndSaveAll = registry.method("OrderRepository.compareAndSaveAll");
+        this.findById = registry.method("OrderRepository.findById");
+        this.findAllById = registry.method("OrderRepository.findAllById");
+        this.findAll = registry.method("OrderRepository.findAll");
+        this.streamAll = registry.method("OrderRepository.streamAll");
+        this.findPage = registry.method("OrderRepository.findPage");
+        this.findByCustomerId = registry.method("OrderRepository.findByCustomerId");
+        this.findByStatus = registry.method("OrderRepository.findByStatus");
+        this.findByCreatedAtBetween = registry.method("OrderRepository.findByCreatedAtBetween");
+        this.streamByCreatedAtBetween = registry.method("OrderRepository.streamByCreatedAtBetween");
+    }
+    
+    @Override
+    public Order save(Order order) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Order result = delegate.save(order);
+            failed = false;
+            return result;
+        } finally {
+            save.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Order> result = delegate.saveAll(orders);
+            failed = false;
+            return result;
+        } finally {
+            saveAll.record(start, failed);
+        }
+    }
+    
+    @Override
+    public boolean compareAndSave(Order order) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            boolean result = delegate.compareAndSave(order);
+            failed = false;
+            return result;
+        } finally {
+            compareAndSave.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Boolean> compareAndSaveAll(List<Order> orders) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Boolean> result = delegate.compareAndSaveAll(orders);
+            failed = false;
+            return result;
+        } finally {
+            compareAndSaveAll.record(start, failed);
+        }
+    }
+    
+    @Override
+    public Optional<Order> findById(String id) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Optional<Order> result = delegate.findById(id);
+            failed = false;
+            return result;
+        } finally {
+            findById.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Order> result = delegate.findAllById(ids);
+            failed = false;
+            return result;
+        } finally {
+            findAllById.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Order> findAll() {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Order> result = delegate.findAll();
+            failed = false;
+            return result;
+        } finally {
+            findAll.record(start, failed);
+        }
+    }
+    
+    /**
+     * Solo mide la creación del stream, no su consumo.
+     */
+    @Override
+    public Stream<Order> streamAll() {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Stream<Order> result = delegate.streamAll();
+            failed = false;
+            return result;
+        } finally {
+            streamAll.record(start, failed);
+        }
+    }
+    
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            OrderPage result = delegate.findPage(cursor, limit);
+            failed = false;
+            return result;
+        } finally {
+            findPage.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Order> result = delegate.findByCustomerId(customerId);
+            failed = false;
+            return result;
+        } finally {
+            findByCustomerId.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Order> result = delegate.findByStatus(status);
+            failed = false;
+            return result;
+        } finally {
+            findByStatus.record(start, failed);
+        }
+    }
+    
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<Order> result = delegate.findByCreatedAtBetween(from, to);
+            failed = false;
+            return result;
+        } finally {
+            findByCreatedAtBetween.record(start, failed);
+        }
+    }
+    
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Stream<Order> result = delegate.streamByCreatedAtBetween(from, to);
+            failed = false;
+            return result;
+        } finally {
+            streamByCreatedAtBetween.record(start, failed);
+        }
+    }
+    
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+}
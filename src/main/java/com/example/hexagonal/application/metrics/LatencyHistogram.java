@@ -0,0 +1,120 @@
+package com.example.hexagonal.application.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales, al estilo de HdrHistogram.
+ *
+ * <p>Los valores menores que {@link #SUB_BUCKETS} tienen cubeta propia; por encima, cada
+ * potencia de dos se divide en {@link #SUB_BUCKETS}/2 cubetas, de modo que el error relativo
+ * de un percentil es menor del 2% en todo el rango (hasta unos 73 minutos; los valores
+ * mayores se acumulan en la última cubeta). Registrar un valor es un cálculo de índice y un
+ * incremento atómico: no reserva memoria ni toma cerrojos.</p>
+ */
+public final class LatencyHistogram {
+    
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int MAX_EXPONENT = 41;
+    private static final long MAX_TRACKABLE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile long maxNanos;
+    
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_TRACKABLE);
+        counts.incrementAndGet(indexOf(value));
+        totalNanos.add(value);
+        long max = maxNanos;
+        // Carrera benigna: en el peor caso se pierde un máximo que otro hilo ya supera
+        if (value > max) {
+            maxNanos = value;
+        }
+    }
+    
+    /**
+     * Copia los contadores para calcular percentiles de forma consistente.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), maxNanos);
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+    
+    /**
+     * Mayor valor que cae en la misma cubeta que el índice dado.
+     */
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+    
+    /**
+     * Copia inmutable de un histograma.
+     */
+    public static final class Snapshot {
+        
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+        
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+        
+        /**
+         * @param percentile Percentil entre 0 y 100
+         * @return Límite superior de la cubeta que contiene el percentil, o 0 si no hay datos
+         */
+        public long valueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueAt(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
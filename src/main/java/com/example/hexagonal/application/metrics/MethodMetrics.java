@@ -0,0 +1,53 @@
+package com.example.hexagonal.application.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias, llamadas y errores de un método instrumentado.
+ * El número de llamadas es el número de valores del histograma.
+ */
+public final class MethodMetrics {
+    
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    
+    MethodMetrics(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Registra una llamada que empezó en {@code startNanos} (según {@link System#nanoTime()}).
+     */
+    public void record(long startNanos, boolean failed) {
+        latency.record(System.nanoTime() - startNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+    
+    /**
+     * Registra un valor que no es una latencia, como el tamaño de un lote. Se resume con
+     * las mismas estadísticas, aunque los campos de la instantánea digan nanosegundos.
+     */
+    public void recordValue(long value) {
+        latency.record(value);
+    }
+    
+    public MetricSnapshot snapshot() {
+        LatencyHistogram.Snapshot histogram = latency.snapshot();
+        return new MetricSnapshot(
+                name,
+                histogram.getCount(),
+                errors.sum(),
+                histogram.getMeanNanos(),
+                histogram.valueAtPercentile(50),
+                histogram.valueAtPercentile(99),
+                histogram.valueAtPercentile(99.9),
+                histogram.getMaxNanos());
+    }
+}
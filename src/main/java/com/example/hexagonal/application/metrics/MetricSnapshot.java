@@ -0,0 +1,18 @@
+package com.example.hexagonal.application.metrics;
+
+import lombok.Value;
+
+/**
+ * Métricas de un método en un instante, con las latencias en nanosegundos.
+ */
+@Value
+public class MetricSnapshot {
+    String name;
+    long calls;
+    long errors;
+    long meanNanos;
+    long p50Nanos;
+    long p99Nanos;
+    long p999Nanos;
+    long maxNanos;
+}
@@ -0,0 +1,54 @@
+package com.example.hexagonal.application.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro de las métricas de todos los métodos instrumentados.
+ * Los decoradores obtienen sus {@link MethodMetrics} una vez al construirse, de modo que
+ * registrar una llamada no consulta el mapa. Los indicadores (gauges) son valores que
+ * se leen solo al consultar las métricas, como el tamaño o los aciertos de una caché.
+ */
+public class MetricsRegistry {
+    
+    private final ConcurrentMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    
+    public MethodMetrics method(String name) {
+        return methods.computeIfAbsent(name, MethodMetrics::new);
+    }
+    
+    /**
+     * @return Las métricas de cada método, ordenadas por nombre
+     */
+    public List<MetricSnapshot> snapshot() {
+        List<MetricSnapshot> snapshots = new ArrayList<>(methods.size());
+        for (MethodMetrics metrics : methods.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(MetricSnapshot::getName));
+        return snapshots;
+    }
+    
+    /**
+     * Registra un indicador; si ya existía uno con el mismo nombre, lo sustituye.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+    
+    /**
+     * @return El valor actual de cada indicador, ordenados por nombre
+     */
+    public Map<String, Long> gauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, value) -> values.put(name, value.getAsLong()));
+        return values;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.hexagonal.application.pipeline;
+
+import com.example.hexagonal.application.metrics.MethodMetrics;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que agrupa los save y compareAndSave concurrentes en escrituras por lotes.
+ *
+ * <p>Cada escritura individual se deja en un buffer circular acotado y el hilo llamante
+ * espera su resultado. Un único hilo vacía el buffer: toma la primera escritura pendiente
+ * y sigue recogiendo hasta llenar el lote o hasta que esa primera escritura lleve
+ * esperando el retardo máximo, y entonces lo envía al repositorio decorado con
+ * {@link OrderRepository#saveAll(List)} o {@link OrderRepository#compareAndSaveAll(List)}.
+ * Las escrituras consecutivas del mismo tipo van en la misma llamada, respetando el
+ * orden de llegada. Con el buffer lleno, los llamantes esperan a que haya hueco.</p>
+ *
+ * <p>Las lecturas y las escrituras que ya llegan en lote pasan directamente al repositorio
+ * decorado. El tamaño de cada lote y la espera de cada escritura en el buffer se publican
+ * como métricas.</p>
+ */
+public class MicroBatchingOrderRepository implements OrderRepository, AutoCloseable {
+    
+    private static final long IDLE_POLL_MILLIS = 100;
+    
+    private final OrderRepository delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingWrite> buffer;
+    private final Thread flusher;
+    private final MethodMetrics batchSize;
+    private final MethodMetrics queueDelay;
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean closed;
+    
+    /**
+     * @param maxBatchSize Número máximo de escrituras por lote
+     * @param maxDelayMicros Tiempo máximo que la primera escritura de un lote espera a que lleguen más
+     * @param capacity Número máximo de escrituras pendientes en el buffer
+     */
+    public MicroBatchingOrderRepository(OrderRepository delegate, int maxBatchSize, long maxDelayMicros,
+                                        int capacity, MetricsRegistry metricsRegistry) {
+        if (maxBatchSize <= 0 || capacity <= 0 || maxDelayMicros < 0) {
+            throw new IllegalArgumentException("Invalid batching settings: size=" + maxBatchSize
+                    + ", delay=" + maxDelayMicros + "us, capacity=" + capacity);
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = metricsRegistry.method("OrderRepository.batch.size");
+        this.queueDelay = metricsRegistry.method("OrderRepository.batch.queueDelay");
+        this.flusher = new Thread(this::flushLoop, "orders-batch-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    @Override
+    public Order save(Order order) {
+        await(enqueue(new PendingWrite(order, false)));
+        return order;
+    }
+    
+    @Override
+    public boolean compareAndSave(Order order) {
+        return await(enqueue(new PendingWrite(order, true)));
+    }
+    
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return delegate.saveAll(orders);
+    }
+    
+    @Override
+    public List<Boolean> compareAndSaveAll(List<Order> orders) {
+        return delegate.compareAndSaveAll(orders);
+    }
+    
+    @Override
+    public Optional<Order> findById(String id) {
+        return delegate.findById(id);
+    }
+    
+    @Override
+    public List<Order> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+    
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public Stream<Order> streamAll() {
+        return delegate.streamAll();
+    }
+    
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+    
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return delegate.findByCreatedAtBetween(from, to);
+    }
+    
+    @Override
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return delegate.streamByCreatedAtBetween(from, to);
+    }
+    
+    /**
+     * Lotes enviados al repositorio decorado desde el arranque.
+     */
+    public long batches() {
+        return batches.sum();
+    }
+    
+    /**
+     * Escrituras que esperan en el buffer en este momento.
+     */
+    public long queued() {
+        return buffer.size();
+    }
+    
+    /**
+     * Deja de aceptar escrituras, envía las pendientes y cierra el repositorio decorado.
+     */
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        IllegalStateException rejected = new IllegalStateException("Order write pipeline is closed");
+        for (PendingWrite write = buffer.poll(); write != null; write = buffer.poll()) {
+            write.result.completeExceptionally(rejected);
+        }
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+    
+    private CompletableFuture<Boolean> enqueue(PendingWrite write) {
+        if (closed) {
+            throw new IllegalStateException("Order write pipeline is closed");
+        }
+        try {
+            buffer.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the order write pipeline", e);
+        }
+        // Si close() empezó entretanto puede que ya no quede nadie que la saque del buffer;
+        // si sigue ahí se rechaza, y si no, el hilo de envío o close() ya la completan
+        if (closed && buffer.remove(write)) {
+            throw new IllegalStateException("Order write pipeline is closed");
+        }
+        return write.result;
+    }
+    
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !buffer.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Nadie interrumpe este hilo; se envía lo ya recogido y se sigue
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Espera la primera escritura y completa el lote hasta su tamaño máximo o hasta que
+     * venza el retardo contado desde que esa primera escritura entró en el buffer. La
+     * espera inicial está acotada para comprobar periódicamente si se ha cerrado.
+     */
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = first.enqueuedNanos + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            if (buffer.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || closed) {
+                return;
+            }
+            PendingWrite next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void flush(List<PendingWrite> batch) {
+        batches.increment();
+        batchSize.recordValue(batch.size());
+        for (PendingWrite write : batch) {
+            queueDelay.record(write.enqueuedNanos, false);
+        }
+        int start = 0;
+        while (start < batch.size()) {
+            boolean conditional = batch.get(start).conditional;
+            int end = start + 1;
+            while (end < batch.size() && batch.get(end).conditional == conditional) {
+                end++;
+            }
+            flushRun(batch.subList(start, end), conditional);
+            start = end;
+        }
+    }
+    
+    private void flushRun(List<PendingWrite> run, boolean conditional) {
+        List<Order> orders = new ArrayList<>(run.size());
+        for (PendingWrite write : run) {
+            orders.add(write.order);
+        }
+        try {
+            if (conditional) {
+                List<Boolean> saved = delegate.compareAndSaveAll(orders);
+                for (int i = 0; i < run.size(); i++) {
+                    run.get(i).result.complete(saved.get(i));
+                }
+            } else {
+                delegate.saveAll(orders);
+                run.forEach(write -> write.result.complete(Boolean.TRUE));
+            }
+        } catch (RuntimeException | Error e) {
+            run.forEach(write -> write.result.completeExceptionally(e));
+        }
+    }
+    
+    private static boolean await(CompletableFuture<Boolean> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static final class PendingWrite {
+        
+        final Order order;
+        final boolean conditional;
+        final long enqueuedNanos = System.nanoTime();
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        
+        PendingWrite(Order order, boolean conditional) {
+            this.order = order;
+            this.conditional = conditional;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hexagonal.application.projection;
+
+import com.example.hexagonal.application.metrics.MethodMetrics;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.out.OrderReadModel;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Proyecta los eventos de pedidos sobre el modelo de lectura.
+ *
+ * <p>Se suscribe al bus de eventos, así que cada evento se aplica en el hilo del suscriptor
+ * y no en el de la petición que lo produjo. El tiempo entre que ocurre un cambio y se
+ * aplica al modelo de lectura se registra como la métrica "OrderReadModel.staleness".
+ * Mientras quedan eventos por aplicar, el retraso actual crece con el tiempo transcurrido
+ * desde el último aplicado, de modo que un proyector atascado no aparenta ir al día.
+ * Si el bus pierde eventos, el modelo se resincroniza recorriendo el repositorio.</p>
+ */
+@Slf4j
+public class OrderReadModelProjector {
+    
+    private final OrderReadModel readModel;
+    private final OrderRepository orderRepository;
+    private final MethodMetrics staleness;
+    private volatile long lastStalenessNanos;
+    private volatile long lastAppliedAtNanos = System.nanoTime();
+    
+    public OrderReadModelProjector(OrderReadModel readModel, OrderRepository orderRepository,
+                                   MetricsRegistry metricsRegistry) {
+        this.readModel = readModel;
+        this.orderRepository = orderRepository;
+        this.staleness = metricsRegistry.method("OrderReadModel.staleness");
+    }
+    
+    public void onEvent(OrderEvent event) {
+        readModel.apply(event);
+        long nanos = Math.max(0, Duration.between(event.getOccurredAt(), LocalDateTime.now()).toNanos());
+        staleness.recordValue(nanos);
+        lastStalenessNanos = nanos;
+        lastAppliedAtNanos = System.nanoTime();
+    }
+    
+    /**
+     * Retraso actual del modelo de lectura, en milisegundos: cero si no quedan eventos por
+     * aplicar y, si quedan, el mayor entre el retraso del último evento aplicado y el tiempo
+     * transcurrido desde que se aplicó.
+     * 
+     * @param pendingEvents Eventos publicados que el proyector aún no ha aplicado
+     */
+    public long stalenessMillis(long pendingEvents) {
+        if (pendingEvents == 0) {
+            return 0;
+        }
+        long sinceLastApplied = System.nanoTime() - lastAppliedAtNanos;
+        return Math.max(lastStalenessNanos, sinceLastApplied) / 1_000_000;
+    }
+    
+    /**
+     * Refresca el modelo de lectura con todos los pedidos del repositorio. Los eventos que
+     * se proyecten a la vez no se pierden: fusionar una vista nunca la hace retroceder.
+     * 
+     * @return Número de pedidos recorridos
+     */
+    public long resync() {
+        long start = System.nanoTime();
+        long count = 0;
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                readModel.refresh(order);
+                count++;
+            }
+        }
+        log.info("Synchronized order read model with {} orders in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.in.AsyncConfirmOrderUseCase;
+import com.example.hexagonal.domain.ports.out.AsyncOrderRepository;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Servicio de aplicación que implementa el caso de uso asíncrono para confirmar pedidos.
+ * Sigue el mismo guardado condicional con reintentos que {@link ConfirmOrderService},
+ * encadenando cada intento sin bloquear ningún hilo.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncConfirmOrderService implements AsyncConfirmOrderUseCase {
+    
+    private final AsyncOrderRepository asyncOrderRepository;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    
+    @Override
+    public CompletableFuture<Order> confirmOrderAsync(String orderId) {
+        return attempt(orderId, 1);
+    }
+    
+    private CompletableFuture<Order> attempt(String orderId, int attempt) {
+        return asyncOrderRepository.findByIdAsync(orderId).thenCompose(found -> {
+            Order order = found.orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
+            if (order.getStatus() == OrderStatus.CONFIRMED) {
+                return CompletableFuture.completedFuture(order);
+            }
+            OrderStatus previousStatus = order.getStatus();
+            order.confirm();
+            return asyncOrderRepository.compareAndSaveAsync(order).thenCompose(saved -> {
+                if (saved) {
+                    customerStatsRepository.orderStatusChanged(order, previousStatus);
+                    orderEventPublisher.publish(OrderConfirmed.of(order));
+                    return CompletableFuture.completedFuture(order);
+                }
+                if (attempt == ConfirmOrderService.MAX_ATTEMPTS) {
+                    throw new ConcurrentModificationException(
+                            "Order " + orderId + " was modified concurrently " + attempt + " times");
+                }
+                return attempt(orderId, attempt + 1);
+            });
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderIdGenerator;
+import com.example.hexagonal.domain.ports.in.AsyncCreateOrderUseCase;
+import com.example.hexagonal.domain.ports.out.AsyncOrderRepository;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Servicio de aplicación que implementa el caso de uso asíncrono para crear pedidos.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncCreateOrderService implements AsyncCreateOrderUseCase {
+    
+    private final AsyncOrderRepository asyncOrderRepository;
+    private final OrderIdGenerator orderIdGenerator;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    
+    @Override
+    public CompletableFuture<Order> createOrderAsync(String customerId, double total) {
+        // La validación del dominio se entrega como un futuro fallido, igual que los errores de persistencia
+        Order order;
+        try {
+            order = Order.create(orderIdGenerator, customerId, total);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return asyncOrderRepository.saveAsync(order).thenApply(saved -> {
+            customerStatsRepository.orderCreated(saved);
+            orderEventPublisher.publish(OrderCreated.of(saved));
+            return saved;
+        });
+    }
+}
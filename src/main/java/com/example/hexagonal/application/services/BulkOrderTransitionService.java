@@ -0,0 +1,172 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.BatchItemResult;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderTransition;
+import com.example.hexagonal.domain.ports.in.BulkOrderTransitionUseCase;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de aplicación que implementa el caso de uso para cambiar el estado de
+ * muchos pedidos a la vez. Las lecturas y las escrituras se hacen en lote contra
+ * el repositorio en lugar de una lectura y una escritura por pedido. Cada pedido se
+ * guarda de forma condicional sobre la versión leída; los que otra petición modificó
+ * entretanto se vuelven a leer y a procesar en la siguiente ronda. Los pedidos que ya
+ * están en el estado destino se dan por correctos sin escribirlos, así que solo los
+ * que cambian realmente de estado se guardan y publican un evento.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkOrderTransitionService implements BulkOrderTransitionUseCase {
+    
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final int MAX_ATTEMPTS = 16;
+    
+    private final OrderRepository orderRepository;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    
+    @Override
+    public List<BatchItemResult> transitionOrders(List<String> orderIds, OrderTransition transition) {
+        if (orderIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch too large: " + orderIds.size() + " > " + MAX_BATCH_SIZE);
+        }
+        
+        BatchItemResult[] results = new BatchItemResult[orderIds.size()];
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        for (int i = 0; i < orderIds.size(); i++) {
+            String orderId = orderIds.get(i);
+            if (orderId == null || orderId.trim().isEmpty()) {
+                results[i] = BatchItemResult.failed(orderId, "Order id is required");
+            } else if (pending.putIfAbsent(orderId, i) != null) {
+                results[i] = BatchItemResult.failed(orderId, "Duplicate order id in batch: " + orderId);
+            }
+        }
+        
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            pending = transitionRound(pending, transition, results);
+        }
+        for (Map.Entry<String, Integer> conflict : pending.entrySet()) {
+            results[conflict.getValue()] = BatchItemResult.failed(conflict.getKey(),
+                    "Order " + conflict.getKey() + " was modified concurrently " + MAX_ATTEMPTS + " times");
+        }
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Procesa una ronda y devuelve los pedidos que hay que reintentar por conflicto de versión.
+     */
+    private Map<String, Integer> transitionRound(Map<String, Integer> pending, OrderTransition transition,
+                                                 BatchItemResult[] results) {
+        // Una sola lectura para todos los pedidos de la ronda
+        Map<String, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findAllById(pending.keySet())) {
+            ordersById.put(order.getId(), order);
+        }
+        
+        // Aplicamos la regla de dominio a cada pedido; los que fallan no se guardan
+        List<Order> changed = new ArrayList<>(ordersById.size());
+        List<Integer> positions = new ArrayList<>(ordersById.size());
+        List<OrderStatus> previousStatuses = new ArrayList<>(ordersById.size());
+        for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+            String orderId = entry.getKey();
+            Order order = ordersById.get(orderId);
+            if (order == null) {
+                results[entry.getValue()] = BatchItemResult.failed(orderId, "Order not found with id: " + orderId);
+                continue;
+            }
+            try {
+                OrderStatus previousStatus = order.getStatus();
+                transition.applyTo(order);
+                if (order.getStatus() == previousStatus) {
+                    // Ya estaba en el estado destino: nada que guardar ni que publicar
+                    results[entry.getValue()] = BatchItemResult.succeeded(order);
+                    continue;
+                }
+                changed.add(order);
+                positions.add(entry.getValue());
+                previousStatuses.add(previousStatus);
+            } catch (IllegalStateException e) {
+                results[entry.getValue()] = BatchItemResult.failed(orderId, e.getMessage());
+            }
+        }
+        
+        // Una sola escritura condicional para todos los pedidos modificados
+        Map<String, Integer> conflicts = new LinkedHashMap<>();
+        if (changed.isEmpty()) {
+            return conflicts;
+        }
+        long[] readVersions = new long[changed.size()];
+        for (int i = 0; i < changed.size(); i++) {
+            readVersions[i] = changed.get(i).getVersion();
+        }
+        List<Boolean> saved;
+        try {
+            saved = orderRepository.compareAndSaveAll(changed);
+        } catch (RuntimeException e) {
+            saved = savedBeforeFailure(changed, readVersions, e, positions, results);
+        }
+        for (int i = 0; i < changed.size(); i++) {
+            Boolean outcome = saved.get(i);
+            if (outcome == null) {
+                continue;
+            }
+            if (outcome) {
+                results[positions.get(i)] = BatchItemResult.succeeded(changed.get(i));
+                customerStatsRepository.orderStatusChanged(changed.get(i), previousStatuses.get(i));
+                orderEventPublisher.publish(OrderEvent.statusChanged(changed.get(i)));
+            } else {
+                conflicts.put(changed.get(i).getId(), positions.get(i));
+            }
+        }
+        return conflicts;
+    }
+    
+    /**
+     * Averigua qué pedidos llegó a guardar una escritura por lotes que terminó con error,
+     * releyéndolos: uno se da por guardado si su versión es justo la siguiente a la leída
+     * y tiene el estado nuevo. Los demás se marcan como fallidos y devuelven {@code null}
+     * para que no se reintenten; si la relectura también falla, se marcan todos.
+     */
+    private List<Boolean> savedBeforeFailure(List<Order> changed, long[] readVersions, RuntimeException failure,
+                                             List<Integer> positions, BatchItemResult[] results) {
+        Map<String, Order> storedById = new HashMap<>();
+        try {
+            List<String> ids = new ArrayList<>(changed.size());
+            for (Order order : changed) {
+                ids.add(order.getId());
+            }
+            for (Order stored : orderRepository.findAllById(ids)) {
+                storedById.put(stored.getId(), stored);
+            }
+        } catch (RuntimeException e) {
+            storedById.clear();
+        }
+        List<Boolean> saved = new ArrayList<>(changed.size());
+        for (int i = 0; i < changed.size(); i++) {
+            Order order = changed.get(i);
+            Order stored = storedById.get(order.getId());
+            if (stored != null && stored.getVersion() == readVersions[i] + 1 && stored.getStatus() == order.getStatus()) {
+                order.setVersion(stored.getVersion());
+                saved.add(true);
+            } else {
+                results[positions.get(i)] = BatchItemResult.failed(order.getId(), failure.getMessage());
+                saved.add(null);
+            }
+        }
+        return saved;
+    }
+}
@@ -1,32 +1,62 @@
 package com.example.hexagonal.application.services;
 
+import com.example.hexagonal.domain.events.OrderConfirmed;
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
 import com.example.hexagonal.domain.ports.in.ConfirmOrderUseCase;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
 import com.example.hexagonal.domain.ports.out.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 
 /**
  * Servicio de aplicación que implementa el caso de uso para confirmar pedidos.
+ * El pedido se guarda de forma condicional sobre la versión leída: si otra petición
+ * lo modifica entretanto, se vuelve a leer y se reaplica la regla de dominio.
+ * Solo el intento que se guarda actualiza las estadísticas del cliente y publica
+ * {@link OrderConfirmed}.
  */
 @Service
 @RequiredArgsConstructor
 public class ConfirmOrderService implements ConfirmOrderUseCase {
     
+    static final int MAX_ATTEMPTS = 16;
+    
     private final OrderRepository orderRepository;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderEventPublisher orderEventPublisher;
     
     @Override
     public Order confirmOrder(String orderId) {
-        // Buscamos el pedido en el repositorio
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
-        
-        // Utilizamos el método de dominio para confirmar el pedido
-        order.confirm();
-        
-        // Persistimos el pedido actualizado
-        return orderRepository.save(order);
+        for (int attempt = 1; ; attempt++) {
+            // Buscamos el pedido en el repositorio
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
+            
+            // Confirmar un pedido ya confirmado no cambia nada: no hace falta escribir
+            if (order.getStatus() == OrderStatus.CONFIRMED) {
+                return order;
+            }
+            
+            // Utilizamos el método de dominio para confirmar el pedido
+            OrderStatus previousStatus = order.getStatus();
+            order.confirm();
+            
+            // Persistimos solo si nadie lo ha modificado desde que lo leímos
+            if (orderRepository.compareAndSave(order)) {
+                customerStatsRepository.orderStatusChanged(order, previousStatus);
+                orderEventPublisher.publish(OrderConfirmed.of(order));
+                return order;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new ConcurrentModificationException(
+                        "Order " + orderId + " was modified concurrently " + MAX_ATTEMPTS + " times");
+            }
+            Thread.onSpinWait();
+        }
     }
-} 
\ No newline at end of file
+}
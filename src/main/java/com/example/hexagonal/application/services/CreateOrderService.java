@@ -1,27 +1,92 @@
 package com.example.hexagonal.application.services;
 
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.model.BatchItemResult;
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderIdGenerator;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
 import com.example.hexagonal.domain.ports.in.CreateOrderUseCase;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
 import com.example.hexagonal.domain.ports.out.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Servicio de aplicación que implementa el caso de uso para crear pedidos.
  * Esta clase orquesta la lógica de aplicación utilizando el dominio.
+ * Cada pedido guardado se suma a las estadísticas de su cliente y se publica como
+ * {@link OrderCreated}.
  */
 @Service
 @RequiredArgsConstructor
 public class CreateOrderService implements CreateOrderUseCase {
     
+    static final int MAX_BATCH_SIZE = 10_000;
+    
     private final OrderRepository orderRepository;
+    private final OrderIdGenerator orderIdGenerator;
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderEventPublisher orderEventPublisher;
     
     @Override
     public Order createOrder(String customerId, double total) {
         // Utilizamos el factory method del dominio para crear el pedido
-        Order order = Order.create(customerId, total);
+        Order order = Order.create(orderIdGenerator, customerId, total);
         
         // Persistimos el pedido utilizando el repositorio
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        customerStatsRepository.orderCreated(saved);
+        orderEventPublisher.publish(OrderCreated.of(saved));
+        return saved;
+    }
+    
+    @Override
+    public List<BatchItemResult> createOrders(List<CreateOrderCommand> commands) {
+        if (commands.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch too large: " + commands.size() + " > " + MAX_BATCH_SIZE);
+        }
+        BatchItemResult[] results = new BatchItemResult[commands.size()];
+        List<Order> valid = new ArrayList<>(commands.size());
+        List<Integer> positions = new ArrayList<>(commands.size());
+        
+        // Las reglas del dominio se validan por pedido; solo los válidos llegan al repositorio
+        for (int i = 0; i < commands.size(); i++) {
+            CreateOrderCommand command = commands.get(i);
+            if (command == null) {
+                results[i] = BatchItemResult.failed(null, "Order data is required");
+                continue;
+            }
+            try {
+                valid.add(Order.create(orderIdGenerator, command.getCustomerId(), command.getTotal()));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResult.failed(null, e.getMessage());
+            }
+        }
+        
+        // Persistimos todos los pedidos válidos en una única escritura. Solo ella va
+        // dentro del try: lo que falle después no puede dar por fallidos pedidos ya guardados
+        List<Order> saved;
+        try {
+            saved = orderRepository.saveAll(valid);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < valid.size(); i++) {
+                results[positions.get(i)] = BatchItemResult.failed(valid.get(i).getId(), e.getMessage());
+            }
+            return Arrays.asList(results);
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            results[positions.get(i)] = BatchItemResult.succeeded(saved.get(i));
+        }
+        for (Order order : saved) {
+            customerStatsRepository.orderCreated(order);
+            orderEventPublisher.publish(OrderCreated.of(order));
+        }
+        return Arrays.asList(results);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.model.CustomerOrderStats;
+import com.example.hexagonal.domain.ports.in.GetCustomerStatsUseCase;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio de aplicación que implementa la consulta de estadísticas por cliente.
+ * Lee la vista materializada en lugar de recorrer los pedidos del cliente.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerStatsService implements GetCustomerStatsUseCase {
+    
+    private final CustomerStatsRepository customerStatsRepository;
+    
+    @Override
+    public CustomerOrderStats getCustomerStats(String customerId) {
+        if (customerId == null || customerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Customer id is required");
+        }
+        return customerStatsRepository.findByCustomerId(customerId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.in.ExportOrdersUseCase;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de aplicación que implementa la exportación de pedidos.
+ * Parte siempre de un stream del repositorio, de modo que la memoria usada no
+ * depende del número de pedidos; con intervalo de fechas usa el índice temporal.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportOrdersService implements ExportOrdersUseCase {
+    
+    private final OrderRepository orderRepository;
+    
+    @Override
+    public Stream<Order> exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Export window starts after it ends: " + from + " > " + to);
+        }
+        Stream<Order> orders = from == null && to == null
+                ? orderRepository.streamAll()
+                : orderRepository.streamByCreatedAtBetween(
+                        from != null ? from : LocalDateTime.MIN,
+                        to != null ? to : LocalDateTime.MAX);
+        return status == null ? orders : orders.filter(order -> order.getStatus() == status);
+    }
+}
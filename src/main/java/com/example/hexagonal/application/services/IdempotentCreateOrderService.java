@@ -0,0 +1,41 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.application.idempotency.IdempotencyKeyCache;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import com.example.hexagonal.domain.ports.in.CreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.IdempotentCreateOrderUseCase;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Servicio de aplicación que crea pedidos a través de {@link CreateOrderUseCase} una sola
+ * vez por clave de idempotencia. La caché recuerda el ID junto con el cliente y el total
+ * de la petición, que un reintento debe repetir tal cual; el pedido se lee del repositorio.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotentCreateOrderService implements IdempotentCreateOrderUseCase {
+    
+    private final CreateOrderUseCase createOrderUseCase;
+    private final OrderRepository orderRepository;
+    private final IdempotencyKeyCache idempotencyKeyCache;
+    
+    @Override
+    public Order createOrder(String idempotencyKey, String customerId, double total) {
+        Order[] created = new Order[1];
+        CreateOrderCommand request = new CreateOrderCommand(customerId, total);
+        String orderId = idempotencyKeyCache.computeIfAbsent(idempotencyKey, request, () -> {
+            created[0] = createOrderUseCase.createOrder(customerId, total);
+            return created[0].getId();
+        });
+        if (created[0] != null) {
+            return created[0];
+        }
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new NoSuchElementException("Order not found: " + orderId));
+    }
+}
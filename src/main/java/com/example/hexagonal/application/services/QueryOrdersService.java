@@ -0,0 +1,30 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderViewPage;
+import com.example.hexagonal.domain.ports.in.QueryOrdersUseCase;
+import com.example.hexagonal.domain.ports.out.OrderReadModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio de aplicación que implementa las consultas de pedidos sobre el modelo de lectura.
+ * No accede al repositorio de escritura. El tamaño de página está acotado para que cada
+ * petición use memoria constante.
+ */
+@Service
+@RequiredArgsConstructor
+public class QueryOrdersService implements QueryOrdersUseCase {
+    
+    static final int MAX_PAGE_SIZE = 1_000;
+    
+    private final OrderReadModel orderReadModel;
+    
+    @Override
+    public OrderViewPage listOrders(OrderStatus status, String customerId, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        return orderReadModel.findPage(status, customerId, cursor, Math.min(limit, MAX_PAGE_SIZE));
+    }
+}
@@ -1,33 +1,461 @@
 package com.example.hexagonal.config;
 
+import com.example.hexagonal.adapters.in.web.AdmissionControlInterceptor;
+import com.example.hexagonal.adapters.in.web.AimdConcurrencyLimiter;
+import com.example.hexagonal.adapters.in.web.OrderBinaryHttpMessageConverter;
+import com.example.hexagonal.adapters.in.web.RequestMetricsInterceptor;
+import com.example.hexagonal.adapters.out.events.FileOrderEventSink;
+import com.example.hexagonal.adapters.out.events.RingBufferOrderEventBus;
+import com.example.hexagonal.adapters.out.persistence.CachingOrderRepository;
+import com.example.hexagonal.adapters.out.persistence.ExecutorAsyncOrderRepository;
+import com.example.hexagonal.adapters.out.persistence.InMemoryCustomerStatsRepository;
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderReadModel;
 import com.example.hexagonal.adapters.out.persistence.InMemoryOrderRepository;
+import com.example.hexagonal.adapters.out.persistence.OffHeapOrderRepository;
+import com.example.hexagonal.adapters.out.persistence.OutboxRelay;
+import com.example.hexagonal.adapters.out.persistence.PartitionedOrderRepository;
+import com.example.hexagonal.adapters.out.persistence.TieredOrderRepository;
+import com.example.hexagonal.adapters.out.persistence.WalOrderRepository;
+import com.example.hexagonal.application.idempotency.IdempotencyKeyCache;
+import com.example.hexagonal.application.metrics.InstrumentedConfirmOrderUseCase;
+import com.example.hexagonal.application.metrics.InstrumentedCreateOrderUseCase;
+import com.example.hexagonal.application.metrics.InstrumentedOrderRepository;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.application.pipeline.MicroBatchingOrderRepository;
+import com.example.hexagonal.application.projection.OrderReadModelProjector;
+import com.example.hexagonal.application.services.AsyncConfirmOrderService;
+import com.example.hexagonal.application.services.AsyncCreateOrderService;
+import com.example.hexagonal.application.services.BulkOrderTransitionService;
 import com.example.hexagonal.application.services.ConfirmOrderService;
 import com.example.hexagonal.application.services.CreateOrderService;
+import com.example.hexagonal.application.services.CustomerStatsService;
+import com.example.hexagonal.application.services.ExportOrdersService;
+import com.example.hexagonal.application.services.IdempotentCreateOrderService;
+import com.example.hexagonal.application.services.QueryOrdersService;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderIdGenerator;
+import com.example.hexagonal.domain.model.TimeOrderedIdGenerator;
+import com.example.hexagonal.domain.ports.in.AsyncConfirmOrderUseCase;
+import com.example.hexagonal.domain.ports.in.AsyncCreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.BulkOrderTransitionUseCase;
 import com.example.hexagonal.domain.ports.in.ConfirmOrderUseCase;
 import com.example.hexagonal.domain.ports.in.CreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.ExportOrdersUseCase;
+import com.example.hexagonal.domain.ports.in.GetCustomerStatsUseCase;
+import com.example.hexagonal.domain.ports.in.IdempotentCreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.QueryOrdersUseCase;
+import com.example.hexagonal.domain.ports.out.AsyncOrderRepository;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import com.example.hexagonal.domain.ports.out.OrderReadModel;
 import com.example.hexagonal.domain.ports.out.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Configuración de la aplicación que conecta los puertos con sus adaptadores.
  * Esta clase es responsable de la inyección de dependencias.
  */
+@Slf4j
 @Configuration
 public class ApplicationConfig {
     
     @Bean
-    public OrderRepository orderRepository() {
-        return new InMemoryOrderRepository();
+    public MetricsRegistry metricsRegistry() {
+        return new MetricsRegistry();
+    }
+    
+    /**
+     * Mide cada petición HTTP en el mismo registro que los casos de uso y el repositorio.
+     */
+    @Bean
+    public WebMvcConfigurer requestMetricsConfigurer(
+            MetricsRegistry metricsRegistry,
+            @Value("${orders.metrics.enabled:true}") boolean metricsEnabled) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (metricsEnabled) {
+                    registry.addInterceptor(new RequestMetricsInterceptor(metricsRegistry));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Con orders.admission.enabled=true limita las peticiones concurrentes de creación
+     * (POST /api/orders y /api/orders/batch) y de cambio de estado (confirm y
+     * bulk-transition) con presupuestos separados, que se ajustan según la latencia
+     * medida (orders.admission.latency-threshold). Lo que no cabe se rechaza con 503.
+     */
+    @Bean
+    public WebMvcConfigurer admissionControlConfigurer(
+            @Value("${orders.admission.enabled:false}") boolean enabled,
+            @Value("${orders.admission.initial-limit:64}") int initialLimit,
+            @Value("${orders.admission.min-limit:4}") int minLimit,
+            @Value("${orders.admission.max-limit:200}") int maxLimit,
+            @Value("${orders.admission.latency-threshold:50ms}") Duration latencyThreshold,
+            @Value("${orders.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${orders.admission.retry-after:1s}") Duration retryAfter,
+            MetricsRegistry metricsRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (!enabled) {
+                    return;
+                }
+                AimdConcurrencyLimiter create = new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                        latencyThreshold, backoffRatio);
+                AimdConcurrencyLimiter confirm = new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                        latencyThreshold, backoffRatio);
+                registry.addInterceptor(new AdmissionControlInterceptor("create", create, retryAfter.getSeconds()))
+                        .addPathPatterns("/api/orders", "/api/orders/batch");
+                registry.addInterceptor(new AdmissionControlInterceptor("confirm", confirm, retryAfter.getSeconds()))
+                        .addPathPatterns("/api/orders/*/confirm", "/api/orders/bulk-transition");
+                registerAdmissionGauges(metricsRegistry, "create", create);
+                registerAdmissionGauges(metricsRegistry, "confirm", confirm);
+            }
+        };
+    }
+    
+    private static void registerAdmissionGauges(MetricsRegistry metricsRegistry, String budget,
+                                                AimdConcurrencyLimiter limiter) {
+        metricsRegistry.gauge("admission." + budget + ".limit", limiter::limit);
+        metricsRegistry.gauge("admission." + budget + ".inFlight", limiter::inFlight);
+        metricsRegistry.gauge("admission." + budget + ".rejected", limiter::rejected);
+    }
+    
+    /**
+     * Añade el formato binario de pedidos al final de la lista de conversores, de modo
+     * que JSON sigue siendo el formato por defecto cuando el cliente acepta cualquiera.
+     */
+    @Bean
+    public WebMvcConfigurer orderBinaryFormatConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new OrderBinaryHttpMessageConverter());
+            }
+        };
+    }
+    
+    /**
+     * Selecciona el adaptador de persistencia con la propiedad orders.persistence.mode:
+     * "memory" (por defecto), "wal" para el write-ahead log en disco, "offheap" para
+     * el almacenamiento columnar fuera del heap o "partitioned" para repartir los pedidos
+     * por cliente entre orders.persistence.partitions particiones en memoria.
+     *
+     * <p>Con orders.cache.enabled=true el adaptador se envuelve en una caché LRU de hasta
+     * orders.cache.max-entries pedidos, útil sobre los adaptadores más lentos que la
+     * memoria. Con orders.batching.enabled=true los save y compareAndSave concurrentes se
+     * agrupan en lotes de hasta orders.batching.max-batch-size escrituras, esperando como
+     * mucho orders.batching.max-delay-micros a que se llene cada lote. Con
+     * orders.metrics.enabled=true (por defecto) el resultado se envuelve en un decorador
+     * que mide cada operación, de modo que la espera en el lote cuenta en su latencia.</p>
+     *
+     * <p>Con orders.outbox.enabled=true (solo en modo wal) cada cambio se guarda junto con
+     * su evento y un relay los anexa a orders.outbox.file en lotes de hasta
+     * orders.outbox.batch-size eventos.</p>
+     *
+     * <p>Con orders.retention.enabled=true (solo en modo memory) los pedidos cerrados con
+     * más de orders.retention.closed-after de antigüedad se archivan cada
+     * orders.retention.interval en segmentos comprimidos de orders.retention.directory.</p>
+     */
+    @Bean
+    public OrderRepository orderRepository(
+            @Value("${orders.persistence.mode:memory}") String mode,
+            @Value("${orders.persistence.wal.directory:data/wal}") String walDirectory,
+            @Value("${orders.persistence.wal.snapshot-interval:5m}") Duration snapshotInterval,
+            @Value("${orders.persistence.partitions:16}") int partitions,
+            @Value("${orders.outbox.enabled:false}") boolean outboxEnabled,
+            @Value("${orders.outbox.file:data/outbox/order-events.ndjson}") String outboxFile,
+            @Value("${orders.outbox.batch-size:500}") int outboxBatchSize,
+            @Value("${orders.outbox.poll-interval:50ms}") Duration outboxPollInterval,
+            @Value("${orders.retention.enabled:false}") boolean retentionEnabled,
+            @Value("${orders.retention.directory:data/archive}") String retentionDirectory,
+            @Value("${orders.retention.closed-after:30d}") Duration retentionClosedAfter,
+            @Value("${orders.retention.interval:1h}") Duration retentionInterval,
+            @Value("${orders.retention.block-size:128}") int retentionBlockSize,
+            @Value("${orders.retention.max-segment-orders:100000}") int retentionMaxSegmentOrders,
+            @Value("${orders.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${orders.cache.max-entries:100000}") int cacheMaxEntries,
+            @Value("${orders.batching.enabled:false}") boolean batchingEnabled,
+            @Value("${orders.batching.max-batch-size:256}") int batchingMaxBatchSize,
+            @Value("${orders.batching.max-delay-micros:200}") long batchingMaxDelayMicros,
+            @Value("${orders.batching.capacity:8192}") int batchingCapacity,
+            @Value("${orders.metrics.enabled:true}") boolean metricsEnabled,
+            MetricsRegistry metricsRegistry) {
+        if (outboxEnabled && !"wal".equals(mode)) {
+            throw new IllegalArgumentException("orders.outbox.enabled requires orders.persistence.mode=wal");
+        }
+        if (retentionEnabled && !"memory".equals(mode)) {
+            throw new IllegalArgumentException("orders.retention.enabled requires orders.persistence.mode=memory");
+        }
+        OrderRepository repository;
+        switch (mode) {
+            case "memory":
+                InMemoryOrderRepository memory = new InMemoryOrderRepository();
+                if (retentionEnabled) {
+                    TieredOrderRepository tiered = new TieredOrderRepository(memory, Paths.get(retentionDirectory),
+                            retentionClosedAfter, retentionInterval, retentionBlockSize, retentionMaxSegmentOrders);
+                    metricsRegistry.gauge("retention.hotOrders", memory::size);
+                    metricsRegistry.gauge("retention.archivedOrders", tiered::archivedOrders);
+                    metricsRegistry.gauge("retention.segments", tiered::archiveSegments);
+                    metricsRegistry.gauge("retention.bloomSkips", tiered::archiveBloomSkips);
+                    metricsRegistry.gauge("retention.segmentReads", tiered::archiveSegmentReads);
+                    repository = tiered;
+                } else {
+                    repository = memory;
+                }
+                break;
+            case "wal":
+                WalOrderRepository wal = new WalOrderRepository(Paths.get(walDirectory),
+                        WalOrderRepository.DEFAULT_SEGMENT_BYTES, snapshotInterval, outboxEnabled);
+                if (outboxEnabled) {
+                    OutboxRelay relay = wal.startOutboxRelay(new FileOrderEventSink(Paths.get(outboxFile)),
+                            outboxBatchSize, outboxPollInterval);
+                    metricsRegistry.gauge("outbox.pending", relay::pending);
+                    metricsRegistry.gauge("outbox.lagMillis", relay::lagMillis);
+                    metricsRegistry.gauge("outbox.relayed", relay::relayed);
+                    metricsRegistry.gauge("outbox.batches", relay::batches);
+                    metricsRegistry.gauge("outbox.failures", relay::failures);
+                }
+                repository = wal;
+                break;
+            case "offheap":
+                repository = new OffHeapOrderRepository();
+                break;
+            case "partitioned":
+                repository = new PartitionedOrderRepository(partitions);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown orders.persistence.mode: " + mode);
+        }
+        if (cacheEnabled) {
+            CachingOrderRepository cache = new CachingOrderRepository(repository, cacheMaxEntries);
+            metricsRegistry.gauge("cache.hits", cache::hits);
+            metricsRegistry.gauge("cache.misses", cache::misses);
+            metricsRegistry.gauge("cache.evictions", cache::evictions);
+            metricsRegistry.gauge("cache.size", cache::size);
+            repository = cache;
+        }
+        if (batchingEnabled) {
+            MicroBatchingOrderRepository batching = new MicroBatchingOrderRepository(repository,
+                    batchingMaxBatchSize, batchingMaxDelayMicros, batchingCapacity, metricsRegistry);
+            metricsRegistry.gauge("batching.batches", batching::batches);
+            metricsRegistry.gauge("batching.queued", batching::queued);
+            repository = batching;
+        }
+        return metricsEnabled ? new InstrumentedOrderRepository(repository, metricsRegistry) : repository;
+    }
+    
+    /**
+     * Ejecuta las operaciones del repositorio para los casos de uso asíncronos. Con
+     * orders.execution.virtual-threads=true y una JVM que los soporte, usa un hilo virtual
+     * por operación; si no, un pool de orders.execution.pool-size hilos de plataforma.
+     */
+    @Bean
+    public AsyncOrderRepository asyncOrderRepository(
+            OrderRepository orderRepository,
+            @Value("${orders.execution.virtual-threads:false}") boolean virtualThreads,
+            @Value("${orders.execution.pool-size:64}") int poolSize) {
+        Optional<ExecutorService> virtual = virtualThreads
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                : Optional.empty();
+        return new ExecutorAsyncOrderRepository(orderRepository,
+                virtual.orElseGet(() -> newPlatformExecutor(poolSize)));
+    }
+    
+    /**
+     * Con orders.execution.virtual-threads=true, Tomcat atiende cada petición en un hilo
+     * virtual, de modo que los controladores bloqueantes no quedan limitados por el pool
+     * de hilos del servidor. En JVM sin hilos virtuales se mantiene el pool de Tomcat.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestCustomizer(
+            @Value("${orders.execution.virtual-threads:false}") boolean virtualThreads) {
+        return protocolHandler -> {
+            if (virtualThreads) {
+                VirtualThreads.newVirtualThreadPerTaskExecutor().ifPresent(protocolHandler::setExecutor);
+            }
+        };
+    }
+    
+    /**
+     * Vista de estadísticas por cliente. Vive en memoria, así que al arrancar se
+     * reconstruye recorriendo una vez los pedidos del repositorio.
+     */
+    @Bean
+    public CustomerStatsRepository customerStatsRepository(OrderRepository orderRepository) {
+        InMemoryCustomerStatsRepository stats = new InMemoryCustomerStatsRepository();
+        long start = System.nanoTime();
+        long rebuilt;
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            rebuilt = stats.rebuild(orders);
+        }
+        log.info("Rebuilt customer stats from {} orders in {} ms", rebuilt, (System.nanoTime() - start) / 1_000_000);
+        return stats;
+    }
+    
+    /**
+     * Bus de eventos de pedidos en memoria; los consumidores del proceso se suscriben a
+     * este bean. Con orders.events.log-subscriber se registra un suscriptor que escribe
+     * cada evento en el log.
+     */
+    @Bean
+    public RingBufferOrderEventBus orderEventBus(
+            @Value("${orders.events.capacity:65536}") int capacity,
+            @Value("${orders.events.log-subscriber:false}") boolean logSubscriber,
+            MetricsRegistry metricsRegistry) {
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(capacity, metricsRegistry);
+        if (logSubscriber) {
+            bus.subscribe("log", event -> log.info("Order event: {}", event));
+        }
+        return bus;
+    }
+    
+    /**
+     * Modelo de lectura de pedidos, proyectado desde el bus de eventos por su propio
+     * suscriptor. Se suscribe antes de sincronizarse con el repositorio para no perder
+     * los cambios que lleguen mientras tanto. Su retraso respecto a las escrituras se
+     * publica como indicador (readModel.stalenessMillis) y como métrica por evento.
+     */
+    @Bean
+    public OrderReadModel orderReadModel(
+            RingBufferOrderEventBus orderEventBus,
+            OrderRepository orderRepository,
+            MetricsRegistry metricsRegistry) {
+        InMemoryOrderReadModel readModel = new InMemoryOrderReadModel();
+        OrderReadModelProjector projector = new OrderReadModelProjector(readModel, orderRepository, metricsRegistry);
+        RingBufferOrderEventBus.Subscription subscription =
+                orderEventBus.subscribe("readModel", projector::onEvent, projector::resync);
+        projector.resync();
+        metricsRegistry.gauge("readModel.size", readModel::size);
+        // Al día si no quedan eventos por aplicar; si no, crece mientras el proyector no avance
+        metricsRegistry.gauge("readModel.stalenessMillis", () -> projector.stalenessMillis(subscription.lag()));
+        return readModel;
     }
     
+    /**
+     * IDs ordenados por tiempo; orders.id.node debe ser distinto en cada instancia de la
+     * aplicación que cree pedidos a la vez.
+     */
     @Bean
-    public CreateOrderUseCase createOrderUseCase(OrderRepository orderRepository) {
-        return new CreateOrderService(orderRepository);
+    public OrderIdGenerator orderIdGenerator(@Value("${orders.id.node:0}") int node) {
+        return TimeOrderedIdGenerator.forNode(node);
     }
     
     @Bean
-    public ConfirmOrderUseCase confirmOrderUseCase(OrderRepository orderRepository) {
-        return new ConfirmOrderService(orderRepository);
+    public CreateOrderUseCase createOrderUseCase(
+            OrderRepository orderRepository,
+            OrderIdGenerator orderIdGenerator,
+            CustomerStatsRepository customerStatsRepository,
+            OrderEventPublisher orderEventPublisher,
+            @Value("${orders.metrics.enabled:true}") boolean metricsEnabled,
+            MetricsRegistry metricsRegistry) {
+        CreateOrderUseCase useCase = new CreateOrderService(orderRepository, orderIdGenerator, customerStatsRepository,
+                orderEventPublisher);
+        return metricsEnabled ? new InstrumentedCreateOrderUseCase(useCase, metricsRegistry) : useCase;
+    }
+    
+    /**
+     * Claves de idempotencia de POST /api/orders. Se recuerdan durante
+     * orders.idempotency.ttl y como mucho orders.idempotency.max-keys a la vez.
+     */
+    @Bean
+    public IdempotencyKeyCache idempotencyKeyCache(
+            @Value("${orders.idempotency.max-keys:100000}") int maxKeys,
+            @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+            MetricsRegistry metricsRegistry) {
+        IdempotencyKeyCache cache = new IdempotencyKeyCache(maxKeys, ttl);
+        metricsRegistry.gauge("idempotency.keys", cache::size);
+        metricsRegistry.gauge("idempotency.replays", cache::replays);
+        metricsRegistry.gauge("idempotency.evictions", cache::evictions);
+        return cache;
+    }
+    
+    @Bean
+    public IdempotentCreateOrderUseCase idempotentCreateOrderUseCase(
+            CreateOrderUseCase createOrderUseCase,
+            OrderRepository orderRepository,
+            IdempotencyKeyCache idempotencyKeyCache) {
+        return new IdempotentCreateOrderService(createOrderUseCase, orderRepository, idempotencyKeyCache);
+    }
+    
+    @Bean
+    public ConfirmOrderUseCase confirmOrderUseCase(
+            OrderRepository orderRepository,
+            CustomerStatsRepository customerStatsRepository,
+            OrderEventPublisher orderEventPublisher,
+            @Value("${orders.metrics.enabled:true}") boolean metricsEnabled,
+            MetricsRegistry metricsRegistry) {
+        ConfirmOrderUseCase useCase = new ConfirmOrderService(orderRepository, customerStatsRepository, orderEventPublisher);
+        return metricsEnabled ? new InstrumentedConfirmOrderUseCase(useCase, metricsRegistry) : useCase;
+    }
+    
+    @Bean
+    public AsyncCreateOrderUseCase asyncCreateOrderUseCase(
+            AsyncOrderRepository asyncOrderRepository,
+            OrderIdGenerator orderIdGenerator,
+            CustomerStatsRepository customerStatsRepository,
+            OrderEventPublisher orderEventPublisher) {
+        return new AsyncCreateOrderService(asyncOrderRepository, orderIdGenerator, customerStatsRepository,
+                orderEventPublisher);
+    }
+    
+    @Bean
+    public AsyncConfirmOrderUseCase asyncConfirmOrderUseCase(
+            AsyncOrderRepository asyncOrderRepository,
+            CustomerStatsRepository customerStatsRepository,
+            OrderEventPublisher orderEventPublisher) {
+        return new AsyncConfirmOrderService(asyncOrderRepository, customerStatsRepository, orderEventPublisher);
+    }
+    
+    @Bean
+    public BulkOrderTransitionUseCase bulkOrderTransitionUseCase(
+            OrderRepository orderRepository,
+            CustomerStatsRepository customerStatsRepository,
+            OrderEventPublisher orderEventPublisher) {
+        return new BulkOrderTransitionService(orderRepository, customerStatsRepository, orderEventPublisher);
+    }
+    
+    @Bean
+    public GetCustomerStatsUseCase getCustomerStatsUseCase(CustomerStatsRepository customerStatsRepository) {
+        return new CustomerStatsService(customerStatsRepository);
+    }
+    
+    @Bean
+    public QueryOrdersUseCase queryOrdersUseCase(OrderReadModel orderReadModel) {
+        return new QueryOrdersService(orderReadModel);
+    }
+    
+    @Bean
+    public ExportOrdersUseCase exportOrdersUseCase(OrderRepository orderRepository) {
+        return new ExportOrdersService(orderRepository);
+    }
+    
+    private static ExecutorService newPlatformExecutor(int poolSize) {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "orders-async-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
-} 
\ No newline at end of file
+}
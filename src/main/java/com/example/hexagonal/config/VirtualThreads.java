@@ -0,0 +1,37 @@
+package com.example.hexagonal.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Acceso a los hilos virtuales sin depender de ellos al compilar.
+ * El proyecto se compila para Java 11, así que el executor se obtiene por reflexión
+ * y solo está disponible cuando la JVM lo ofrece (Java 21 o posterior).
+ */
+@Slf4j
+final class VirtualThreads {
+    
+    private VirtualThreads() {
+    }
+    
+    /**
+     * Crea un executor que lanza un hilo virtual por tarea.
+     * 
+     * @return El executor, o vacío si la JVM no soporta hilos virtuales
+     */
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) factory.invoke(null));
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // Antes de Java 19 el método no existe; en 19 y 20 requiere --enable-preview
+            log.warn("Virtual threads are not available on Java {}; falling back to platform threads",
+                    System.getProperty("java.specification.version"));
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.hexagonal.domain.events;
+
+import com.example.hexagonal.domain.model.Order;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Se ha cancelado un pedido.
+ */
+@Value
+public class OrderCancelled implements OrderEvent {
+    
+    String orderId;
+    String customerId;
+    double total;
+    LocalDateTime occurredAt;
+    
+    public static OrderCancelled of(Order order) {
+        return new OrderCancelled(order.getId(), order.getCustomerId(), order.getTotal(), LocalDateTime.now());
+    }
+}
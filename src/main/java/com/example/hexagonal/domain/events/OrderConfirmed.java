@@ -0,0 +1,22 @@
+package com.example.hexagonal.domain.events;
+
+import com.example.hexagonal.domain.model.Order;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Se ha confirmado un pedido.
+ */
+@Value
+public class OrderConfirmed implements OrderEvent {
+    
+    String orderId;
+    String customerId;
+    double total;
+    LocalDateTime occurredAt;
+    
+    public static OrderConfirmed of(Order order) {
+        return new OrderConfirmed(order.getId(), order.getCustomerId(), order.getTotal(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hexagonal.domain.events;
+
+import com.example.hexagonal.domain.model.Order;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Se ha creado un pedido.
+ */
+@Value
+public class OrderCreated implements OrderEvent {
+    
+    String orderId;
+    String customerId;
+    double total;
+    LocalDateTime occurredAt;
+    
+    /**
+     * El momento del evento es la fecha de creación del pedido, de modo que las
+     * proyecciones pueden ordenar por ella igual que el repositorio.
+     */
+    public static OrderCreated of(Order order) {
+        LocalDateTime occurredAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        return new OrderCreated(order.getId(), order.getCustomerId(), order.getTotal(), occurredAt);
+    }
+}
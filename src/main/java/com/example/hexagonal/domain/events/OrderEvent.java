@@ -0,0 +1,39 @@
+package com.example.hexagonal.domain.events;
+
+import com.example.hexagonal.domain.model.Order;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio emitido cuando un pedido se crea o cambia de estado.
+ * Los eventos son inmutables y llevan los datos del pedido en el momento del cambio,
+ * de modo que los consumidores no necesitan volver a leer el repositorio.
+ */
+public interface OrderEvent {
+    
+    String getOrderId();
+    
+    String getCustomerId();
+    
+    double getTotal();
+    
+    LocalDateTime getOccurredAt();
+    
+    /**
+     * Evento correspondiente al estado al que acaba de pasar el pedido.
+     * 
+     * @param order El pedido ya guardado con su nuevo estado
+     * @return OrderConfirmed u OrderCancelled
+     * @throws IllegalArgumentException si el estado del pedido no es el resultado de una transición
+     */
+    static OrderEvent statusChanged(Order order) {
+        switch (order.getStatus()) {
+            case CONFIRMED:
+                return OrderConfirmed.of(order);
+            case CANCELLED:
+                return OrderCancelled.of(order);
+            default:
+                throw new IllegalArgumentException("No event for transition to " + order.getStatus());
+        }
+    }
+}
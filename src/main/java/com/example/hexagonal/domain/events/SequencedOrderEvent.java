@@ -0,0 +1,14 @@
+package com.example.hexagonal.domain.events;
+
+import lombok.Value;
+
+/**
+ * Evento leído del outbox junto con su número de secuencia. La secuencia es única y
+ * creciente, de modo que un consumidor que reciba un evento repetido puede descartarlo.
+ */
+@Value
+public class SequencedOrderEvent {
+    
+    long sequence;
+    OrderEvent event;
+}
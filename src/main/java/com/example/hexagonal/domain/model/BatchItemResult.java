@@ -0,0 +1,27 @@
+package com.example.hexagonal.domain.model;
+
+import lombok.Value;
+
+/**
+ * Resultado de una operación sobre un pedido dentro de un lote.
+ * Si la operación falló, {@code order} es null y {@code error} describe el motivo.
+ */
+@Value
+public class BatchItemResult {
+
+    String orderId;
+    Order order;
+    String error;
+
+    public static BatchItemResult succeeded(Order order) {
+        return new BatchItemResult(order.getId(), order, null);
+    }
+
+    public static BatchItemResult failed(String orderId, String error) {
+        return new BatchItemResult(orderId, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
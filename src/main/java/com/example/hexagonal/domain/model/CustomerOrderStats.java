@@ -0,0 +1,31 @@
+package com.example.hexagonal.domain.model;
+
+import lombok.Value;
+
+/**
+ * Resumen de los pedidos de un cliente.
+ */
+@Value
+public class CustomerOrderStats {
+
+    String customerId;
+
+    /**
+     * Número de pedidos del cliente, en cualquier estado.
+     */
+    long orderCount;
+
+    /**
+     * Suma de los importes de los pedidos confirmados.
+     */
+    double totalSpend;
+
+    /**
+     * Suma de los importes de los pedidos pendientes de confirmar.
+     */
+    double pendingAmount;
+
+    public static CustomerOrderStats empty(String customerId) {
+        return new CustomerOrderStats(customerId, 0, 0.0, 0.0);
+    }
+}
@@ -6,24 +6,31 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Entidad del dominio que representa un pedido.
  * Esta clase contiene la lógica de negocio relacionada con los pedidos.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
     
+    private static final OrderIdGenerator DEFAULT_ID_GENERATOR = TimeOrderedIdGenerator.forNode(0);
+    
     private String id;
     private String customerId;
     private double total;
     private OrderStatus status;
     private LocalDateTime createdAt;
     
+    /**
+     * Versión para el control de concurrencia optimista.
+     * La incrementa el repositorio en cada guardado condicional.
+     */
+    private long version;
+    
     /**
      * Método de dominio para confirmar un pedido.
      * Esta es una regla de negocio que pertenece al dominio.
@@ -46,13 +53,32 @@ public class Order {
         this.status = OrderStatus.CANCELLED;
     }
     
+    /**
+     * Factory method para crear un nuevo pedido con el generador de IDs por defecto,
+     * un {@link TimeOrderedIdGenerator} con nodo 0.
+     * 
+     * @throws IllegalArgumentException si el cliente está vacío o el total es negativo
+     */
+    public static Order create(String customerId, double total) {
+        return create(DEFAULT_ID_GENERATOR, customerId, total);
+    }
+    
     /**
      * Factory method para crear un nuevo pedido.
      * Encapsula la lógica de creación de un pedido.
+     * 
+     * @param idGenerator Generador del ID del pedido
+     * @throws IllegalArgumentException si el cliente está vacío o el total es negativo
      */
-    public static Order create(String customerId, double total) {
+    public static Order create(OrderIdGenerator idGenerator, String customerId, double total) {
+        if (customerId == null || customerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Customer id is required");
+        }
+        if (total < 0 || Double.isNaN(total)) {
+            throw new IllegalArgumentException("Order total cannot be negative: " + total);
+        }
         return Order.builder()
-                .id(UUID.randomUUID().toString())
+                .id(idGenerator.nextId())
                 .customerId(customerId)
                 .total(total)
                 .status(OrderStatus.PENDING)
@@ -0,0 +1,14 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Genera los IDs de los pedidos nuevos.
+ * Permite sustituir la estrategia de generación sin tocar la entidad {@link Order}.
+ */
+@FunctionalInterface
+public interface OrderIdGenerator {
+    
+    /**
+     * @return Un ID único para un pedido nuevo
+     */
+    String nextId();
+}
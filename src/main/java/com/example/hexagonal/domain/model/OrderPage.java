@@ -0,0 +1,20 @@
+package com.example.hexagonal.domain.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Página de pedidos devuelta por las consultas paginadas.
+ * El cursor es opaco: solo el adaptador que lo emitió sabe interpretarlo.
+ */
+@Value
+public class OrderPage {
+
+    List<Order> orders;
+
+    /**
+     * Cursor para pedir la página siguiente, o null si no quedan más pedidos.
+     */
+    String nextCursor;
+}
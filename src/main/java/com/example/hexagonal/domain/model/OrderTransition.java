@@ -0,0 +1,27 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Transiciones de estado que se pueden aplicar a un pedido.
+ * Cada transición delega en el método de dominio correspondiente de {@link Order}.
+ */
+public enum OrderTransition {
+    CONFIRM {
+        @Override
+        public void applyTo(Order order) {
+            order.confirm();
+        }
+    },
+    CANCEL {
+        @Override
+        public void applyTo(Order order) {
+            order.cancel();
+        }
+    };
+
+    /**
+     * Aplica la transición sobre el pedido.
+     *
+     * @throws IllegalStateException si las reglas del dominio no permiten la transición
+     */
+    public abstract void applyTo(Order order);
+}
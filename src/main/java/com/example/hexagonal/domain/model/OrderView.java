@@ -0,0 +1,24 @@
+package com.example.hexagonal.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de solo lectura de un pedido en el modelo de consulta. Se construye a partir de
+ * los eventos de pedidos, así que puede ir ligeramente por detrás del repositorio.
+ */
+@Value
+public class OrderView {
+    
+    String id;
+    String customerId;
+    double total;
+    OrderStatus status;
+    LocalDateTime createdAt;
+    
+    /**
+     * Momento del último cambio proyectado sobre el pedido.
+     */
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.example.hexagonal.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Página de vistas de pedidos devuelta por el modelo de consulta.
+ */
+@Value
+public class OrderViewPage {
+    
+    List<OrderView> orders;
+    
+    /**
+     * Cursor para pedir la página siguiente, o null si no quedan más pedidos.
+     */
+    String nextCursor;
+    
+    /**
+     * Momento del último evento proyectado: los cambios posteriores todavía no se ven.
+     * Null si aún no se ha proyectado ninguno.
+     */
+    LocalDateTime asOf;
+}
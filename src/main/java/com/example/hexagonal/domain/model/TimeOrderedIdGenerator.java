@@ -0,0 +1,93 @@
+package com.example.hexagonal.domain.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Generador de IDs ordenados por tiempo al estilo Snowflake.
+ *
+ * <p>Cada ID son 64 bits: 41 de milisegundos desde 2024-01-01 (unos 69 años), 10 de nodo
+ * y 12 de secuencia, codificados en 13 caracteres base32 de Crockford de ancho fijo, de
+ * modo que el orden alfabético de los IDs coincide con su orden de creación. Los IDs de
+ * un mismo nodo son estrictamente crecientes; entre nodos distintos se ordenan por
+ * milisegundo.</p>
+ *
+ * <p>No usa cerrojos: el milisegundo y la secuencia se guardan juntos en un único
+ * AtomicLong que se avanza con CAS. Si se agotan las 4096 secuencias de un milisegundo,
+ * o si el reloj retrocede, el generador sigue avanzando desde el último valor emitido en
+ * lugar de esperar al reloj.</p>
+ *
+ * <p>Dos generadores con el mismo nodo podrían emitir el mismo ID, así que dentro de una
+ * JVM se obtienen con {@link #forNode(int)}, que devuelve siempre la misma instancia.</p>
+ */
+public final class TimeOrderedIdGenerator implements OrderIdGenerator {
+    
+    /** 2024-01-01T00:00:00Z */
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int LENGTH = 13;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final AtomicReferenceArray<TimeOrderedIdGenerator> NODES = new AtomicReferenceArray<>(MAX_NODE + 1);
+    
+    private final long node;
+    private final LongSupplier clock;
+    /** Último milisegundo emitido desplazado, más su secuencia. */
+    private final AtomicLong lastTick = new AtomicLong();
+    
+    TimeOrderedIdGenerator(int node, LongSupplier clock) {
+        checkNode(node);
+        this.node = node;
+        this.clock = clock;
+    }
+    
+    /**
+     * @param node Identificador de esta instancia de la aplicación, entre 0 y {@link #MAX_NODE};
+     *             debe ser distinto en cada instancia que genere IDs a la vez
+     * @return El generador de ese nodo, compartido dentro de la JVM
+     */
+    public static TimeOrderedIdGenerator forNode(int node) {
+        checkNode(node);
+        TimeOrderedIdGenerator generator = NODES.get(node);
+        if (generator == null) {
+            NODES.compareAndSet(node, null, new TimeOrderedIdGenerator(node, System::currentTimeMillis));
+            generator = NODES.get(node);
+        }
+        return generator;
+    }
+    
+    @Override
+    public String nextId() {
+        return encode(nextValue());
+    }
+    
+    long nextValue() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastTick.get();
+            next = Math.max(now, previous + 1);
+        } while (!lastTick.compareAndSet(previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+    
+    private static void checkNode(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+    }
+    
+    static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
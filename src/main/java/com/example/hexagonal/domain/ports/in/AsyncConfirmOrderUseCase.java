@@ -0,0 +1,20 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.Order;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona del caso de uso para confirmar un pedido.
+ */
+public interface AsyncConfirmOrderUseCase {
+    
+    /**
+     * Confirma un pedido existente.
+     * 
+     * @param orderId ID del pedido a confirmar
+     * @return Un futuro con el pedido confirmado; falla con NoSuchElementException si no existe
+     *         o con IllegalStateException si el pedido no puede ser confirmado
+     */
+    CompletableFuture<Order> confirmOrderAsync(String orderId);
+}
@@ -0,0 +1,21 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.Order;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona del caso de uso para crear un pedido.
+ * El llamante no bloquea su hilo mientras el pedido se persiste.
+ */
+public interface AsyncCreateOrderUseCase {
+    
+    /**
+     * Crea un nuevo pedido.
+     * 
+     * @param customerId ID del cliente
+     * @param total Total del pedido
+     * @return Un futuro con el pedido creado; falla con IllegalArgumentException si los datos no son válidos
+     */
+    CompletableFuture<Order> createOrderAsync(String customerId, double total);
+}
@@ -0,0 +1,23 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.BatchItemResult;
+import com.example.hexagonal.domain.model.OrderTransition;
+
+import java.util.List;
+
+/**
+ * Puerto de entrada que define el caso de uso para confirmar o cancelar pedidos en bloque.
+ */
+public interface BulkOrderTransitionUseCase {
+    
+    /**
+     * Aplica la misma transición a varios pedidos.
+     * Un pedido inexistente o en un estado incompatible no impide procesar el resto.
+     * 
+     * @param orderIds IDs de los pedidos
+     * @param transition Transición a aplicar
+     * @return Un resultado por cada ID, en el mismo orden que la entrada
+     * @throws IllegalArgumentException si el lote supera el tamaño máximo permitido
+     */
+    List<BatchItemResult> transitionOrders(List<String> orderIds, OrderTransition transition);
+}
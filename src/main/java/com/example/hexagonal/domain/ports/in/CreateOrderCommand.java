@@ -0,0 +1,12 @@
+package com.example.hexagonal.domain.ports.in;
+
+import lombok.Value;
+
+/**
+ * Datos necesarios para crear un pedido dentro de un lote.
+ */
+@Value
+public class CreateOrderCommand {
+    String customerId;
+    double total;
+}
@@ -1,7 +1,10 @@
 package com.example.hexagonal.domain.ports.in;
 
+import com.example.hexagonal.domain.model.BatchItemResult;
 import com.example.hexagonal.domain.model.Order;
 
+import java.util.List;
+
 /**
  * Puerto de entrada que define el caso de uso para crear un pedido.
  * Esta interfaz define cómo el exterior puede interactuar con el dominio.
@@ -16,4 +19,14 @@ public interface CreateOrderUseCase {
      * @return El pedido creado
      */
     Order createOrder(String customerId, double total);
+    
+    /**
+     * Crea varios pedidos en un solo lote.
+     * Un pedido inválido no impide crear el resto.
+     * 
+     * @param commands Datos de cada pedido
+     * @return Un resultado por cada pedido, en el mismo orden que la entrada
+     * @throws IllegalArgumentException si el lote supera el tamaño máximo permitido
+     */
+    List<BatchItemResult> createOrders(List<CreateOrderCommand> commands);
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Puerto de entrada que define el caso de uso para exportar pedidos de forma masiva.
+ */
+public interface ExportOrdersUseCase {
+    
+    /**
+     * Recorre de forma perezosa los pedidos que cumplen los filtros, sin cargarlos
+     * todos en memoria. El llamante debe cerrar el stream al terminar.
+     * 
+     * @param status Estado de los pedidos, o null para cualquiera
+     * @param from Inicio del intervalo de creación (inclusive), o null para no acotarlo
+     * @param to Fin del intervalo de creación (inclusive), o null para no acotarlo
+     * @return Stream de los pedidos
+     * @throws IllegalArgumentException si el inicio del intervalo es posterior al fin
+     */
+    Stream<Order> exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,18 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.CustomerOrderStats;
+
+/**
+ * Puerto de entrada que define el caso de uso para consultar las estadísticas de pedidos de un cliente.
+ */
+public interface GetCustomerStatsUseCase {
+    
+    /**
+     * Obtiene el número de pedidos, el gasto confirmado y el importe pendiente de un cliente.
+     * 
+     * @param customerId ID del cliente
+     * @return Las estadísticas del cliente
+     * @throws IllegalArgumentException si el ID del cliente está vacío
+     */
+    CustomerOrderStats getCustomerStats(String customerId);
+}
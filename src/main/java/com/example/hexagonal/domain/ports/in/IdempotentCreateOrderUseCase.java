@@ -0,0 +1,23 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.Order;
+
+/**
+ * Puerto de entrada para crear pedidos de forma idempotente: los reintentos con la misma
+ * clave devuelven el pedido creado la primera vez en lugar de crear otro.
+ */
+public interface IdempotentCreateOrderUseCase {
+    
+    /**
+     * Crea un pedido, o devuelve el que ya se creó con la misma clave.
+     * 
+     * @param idempotencyKey Clave elegida por el cliente para identificar la petición
+     * @param customerId ID del cliente
+     * @param total Total del pedido
+     * @return El pedido creado con esa clave
+     * @throws IllegalArgumentException si la clave o los datos del pedido no son válidos
+     * @throws IllegalStateException si la clave ya se usó con otros datos
+     * @throws java.util.NoSuchElementException si la clave es de un pedido que ya no existe
+     */
+    Order createOrder(String idempotencyKey, String customerId, double total);
+}
@@ -0,0 +1,24 @@
+package com.example.hexagonal.domain.ports.in;
+
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderViewPage;
+
+/**
+ * Puerto de entrada para consultar pedidos. Se sirve solo desde el modelo de lectura,
+ * que se proyecta de forma asíncrona a partir de los eventos de pedidos, de modo que
+ * las consultas no compiten con las escrituras y pueden no ver los cambios más recientes.
+ */
+public interface QueryOrdersUseCase {
+    
+    /**
+     * Lista una página de pedidos ordenados por fecha de creación.
+     * 
+     * @param status Estado de los pedidos, o null para todos
+     * @param customerId ID del cliente, o null para todos
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página
+     * @param limit Número máximo de pedidos por página
+     * @return La página de pedidos
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
+     */
+    OrderViewPage listOrders(OrderStatus status, String customerId, String cursor, int limit);
+}
@@ -0,0 +1,39 @@
+package com.example.hexagonal.domain.ports.out;
+
+import com.example.hexagonal.domain.model.Order;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona del puerto de salida para la persistencia de pedidos.
+ * Cubre las operaciones que usan los casos de uso asíncronos; la semántica de cada
+ * operación es la misma que en {@link OrderRepository}.
+ */
+public interface AsyncOrderRepository {
+    
+    /**
+     * Guarda un pedido.
+     * 
+     * @param order El pedido a guardar
+     * @return Un futuro con el pedido guardado
+     */
+    CompletableFuture<Order> saveAsync(Order order);
+    
+    /**
+     * Guarda el pedido solo si su versión no ha cambiado desde que se leyó.
+     * 
+     * @param order El pedido modificado, con la versión con la que se leyó
+     * @return Un futuro que indica si se guardó
+     * @see OrderRepository#compareAndSave(Order)
+     */
+    CompletableFuture<Boolean> compareAndSaveAsync(Order order);
+    
+    /**
+     * Busca un pedido por su ID.
+     * 
+     * @param id El ID del pedido
+     * @return Un futuro con el pedido, si existe
+     */
+    CompletableFuture<Optional<Order>> findByIdAsync(String id);
+}
@@ -0,0 +1,36 @@
+package com.example.hexagonal.domain.ports.out;
+
+import com.example.hexagonal.domain.model.CustomerOrderStats;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+
+/**
+ * Puerto de salida para la vista materializada de estadísticas por cliente.
+ * Los servicios que guardan pedidos notifican cada cambio después de persistirlo,
+ * de modo que la vista se actualiza de forma incremental y se consulta en O(1).
+ */
+public interface CustomerStatsRepository {
+    
+    /**
+     * Suma a las estadísticas de su cliente un pedido recién guardado, según su estado actual.
+     * 
+     * @param order El pedido guardado
+     */
+    void orderCreated(Order order);
+    
+    /**
+     * Traslada el importe de un pedido de su estado anterior al actual.
+     * 
+     * @param order El pedido ya guardado con su nuevo estado
+     * @param previousStatus El estado que tenía antes del cambio
+     */
+    void orderStatusChanged(Order order, OrderStatus previousStatus);
+    
+    /**
+     * Obtiene las estadísticas de un cliente.
+     * 
+     * @param customerId ID del cliente
+     * @return Sus estadísticas; todo a cero si no tiene pedidos
+     */
+    CustomerOrderStats findByCustomerId(String customerId);
+}
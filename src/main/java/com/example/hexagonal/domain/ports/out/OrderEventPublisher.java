@@ -0,0 +1,20 @@
+package com.example.hexagonal.domain.ports.out;
+
+import com.example.hexagonal.domain.events.OrderEvent;
+
+/**
+ * Puerto de salida por el que la aplicación publica los eventos de dominio de los pedidos.
+ * Los servicios publican después de guardar cada cambio.
+ */
+@FunctionalInterface
+public interface OrderEventPublisher {
+    
+    /**
+     * Publica un evento. No debe bloquear ni fallar por culpa de los consumidores: la
+     * entrega es asíncrona y, si un consumidor no da abasto, el adaptador puede descartar
+     * eventos para él.
+     * 
+     * @param event El evento a publicar
+     */
+    void publish(OrderEvent event);
+}
@@ -0,0 +1,22 @@
+package com.example.hexagonal.domain.ports.out;
+
+import com.example.hexagonal.domain.events.SequencedOrderEvent;
+
+import java.util.List;
+
+/**
+ * Puerto de salida hacia el sistema externo que recibe los eventos del outbox.
+ * La entrega es al menos una vez: tras un fallo o un reinicio el mismo lote puede
+ * enviarse de nuevo, y el destino debe descartar las secuencias que ya tenga.
+ */
+public interface OrderEventSink {
+    
+    /**
+     * Envía un lote de eventos en orden de secuencia. Solo debe volver cuando el
+     * destino los haya recibido de forma duradera.
+     * 
+     * @param events Los eventos a enviar
+     * @throws java.io.UncheckedIOException si el envío falla; el lote se reintentará
+     */
+    void send(List<SequencedOrderEvent> events);
+}
@@ -0,0 +1,36 @@
+package com.example.hexagonal.domain.ports.out;
+
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderViewPage;
+
+/**
+ * Puerto de salida para el modelo de lectura de pedidos, separado del repositorio en
+ * el que escriben los casos de uso.
+ *
+ * <p>Los eventos pueden llegar desordenados, repetidos o no llegar, así que aplicar un
+ * evento o refrescar un pedido nunca hace retroceder una vista: un pedido confirmado
+ * o cancelado no vuelve a pendiente.</p>
+ */
+public interface OrderReadModel {
+    
+    /**
+     * Proyecta un evento sobre la vista de su pedido.
+     */
+    void apply(OrderEvent event);
+    
+    /**
+     * Sincroniza la vista de un pedido con su estado en el lado de escritura.
+     */
+    void refresh(Order order);
+    
+    /**
+     * @param status Estado de los pedidos, o null para todos
+     * @param customerId ID del cliente, o null para todos
+     * @param cursor Cursor devuelto por la página anterior, o null para empezar
+     * @param limit Número máximo de pedidos de la página
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    OrderViewPage findPage(OrderStatus status, String customerId, String cursor, int limit);
+}
@@ -1,9 +1,15 @@
 package com.example.hexagonal.domain.ports.out;
 
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Puerto de salida que define cómo el dominio necesita interactuar con la persistencia.
@@ -19,6 +25,46 @@ public interface OrderRepository {
      */
     Order save(Order order);
     
+    /**
+     * Guarda varios pedidos de una vez. Los adaptadores pueden sobrescribirlo para
+     * agruparlos en una única escritura; por defecto los guarda uno a uno.
+     * 
+     * @param orders Los pedidos a guardar
+     * @return Los pedidos guardados, en el mismo orden
+     */
+    default List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            saved.add(save(order));
+        }
+        return saved;
+    }
+    
+    /**
+     * Guarda el pedido solo si nadie lo ha modificado desde que se leyó, es decir,
+     * si la versión almacenada coincide con {@code order.getVersion()}. La comprobación
+     * y la escritura son atómicas. Si se guarda, la versión del pedido se incrementa.
+     * 
+     * @param order El pedido modificado, con la versión con la que se leyó
+     * @return true si se guardó; false si la versión almacenada era otra o el pedido no existe
+     */
+    boolean compareAndSave(Order order);
+    
+    /**
+     * Versión por lotes de {@link #compareAndSave(Order)}. Cada pedido se evalúa por
+     * separado: un conflicto en uno no impide guardar el resto.
+     * 
+     * @param orders Los pedidos modificados
+     * @return Por cada pedido, en el mismo orden, si se guardó
+     */
+    default List<Boolean> compareAndSaveAll(List<Order> orders) {
+        List<Boolean> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            saved.add(compareAndSave(order));
+        }
+        return saved;
+    }
+    
     /**
      * Busca un pedido por su ID.
      * 
@@ -27,13 +73,49 @@ public interface OrderRepository {
      */
     Optional<Order> findById(String id);
     
+    /**
+     * Busca varios pedidos por su ID en una sola operación.
+     * Los adaptadores pueden sobrescribirlo para resolver el lote de una vez;
+     * por defecto busca los pedidos uno a uno.
+     * 
+     * @param ids IDs de los pedidos a buscar
+     * @return Los pedidos encontrados; los IDs inexistentes se omiten
+     */
+    default List<Order> findAllById(Collection<String> ids) {
+        List<Order> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+    
     /**
      * Obtiene todos los pedidos.
+     * Copia el conjunto completo en memoria; para listados grandes usar
+     * {@link #streamAll()} o {@link #findPage(String, int)}.
      * 
      * @return Lista de todos los pedidos
      */
     List<Order> findAll();
     
+    /**
+     * Recorre todos los pedidos de forma perezosa, sin materializarlos en una lista.
+     * El stream debe cerrarse cuando el adaptador mantenga recursos abiertos.
+     * 
+     * @return Stream de todos los pedidos
+     */
+    Stream<Order> streamAll();
+    
+    /**
+     * Obtiene una página de pedidos a partir de un cursor.
+     * 
+     * @param cursor Cursor devuelto por la página anterior, o null para empezar
+     * @param limit Número máximo de pedidos de la página
+     * @return La página de pedidos con el cursor de continuación
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    OrderPage findPage(String cursor, int limit);
+    
     /**
      * Busca pedidos por ID de cliente.
      * 
@@ -41,4 +123,36 @@ public interface OrderRepository {
      * @return Lista de pedidos del cliente
      */
     List<Order> findByCustomerId(String customerId);
-} 
\ No newline at end of file
+    
+    /**
+     * Busca pedidos por estado.
+     * 
+     * @param status Estado de los pedidos
+     * @return Lista de pedidos que se encuentran en ese estado
+     */
+    List<Order> findByStatus(OrderStatus status);
+    
+    /**
+     * Busca pedidos creados dentro de un intervalo de tiempo.
+     * 
+     * @param from Inicio del intervalo (inclusive)
+     * @param to Fin del intervalo (inclusive)
+     * @return Lista de pedidos ordenada por fecha de creación
+     */
+    List<Order> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Recorre de forma perezosa los pedidos creados dentro de un intervalo de tiempo.
+     * Los adaptadores con índice temporal pueden sobrescribirlo para no recorrer el resto;
+     * por defecto filtra {@link #streamAll()}. El orden depende del adaptador.
+     * 
+     * @param from Inicio del intervalo (inclusive)
+     * @param to Fin del intervalo (inclusive)
+     * @return Stream de los pedidos del intervalo, que debe cerrarse al terminar
+     */
+    default Stream<Order> streamByCreatedAtBetween(LocalDateTime from, LocalDateTime to) {
+        return streamAll().filter(order -> order.getCreatedAt() != null
+                && !order.getCreatedAt().isBefore(from)
+                && !order.getCreatedAt().isAfter(to));
+    }
+}
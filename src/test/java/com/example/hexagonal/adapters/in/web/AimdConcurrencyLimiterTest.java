@@ -0,0 +1,121 @@
+package com.example.hexagonal.adapters.in.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el límite adaptativo de concurrencia.
+ */
+class AimdConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = Duration.ofMillis(50).toNanos();
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+    @Test
+    void whenLimitIsReached_thenRejectUntilReleased() {
+        // Arrange
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 1, 10, Duration.ofMillis(50), 0.5);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        boolean overLimit = limiter.tryAcquire();
+        limiter.onResponse(FAST, false, 0);
+        boolean afterRelease = limiter.tryAcquire();
+
+        // Assert
+        assertFalse(overLimit);
+        assertTrue(afterRelease);
+        assertEquals(1, limiter.rejected());
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    void whenFastResponsesUnderLoad_thenLimitGrowsUpToTheMaximum() {
+        // Arrange
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 8, Duration.ofMillis(50), 0.5);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            while (limiter.tryAcquire()) {
+                // Ocupamos todo el límite
+            }
+            while (limiter.inFlight() > 0) {
+                limiter.onResponse(FAST, false, i);
+            }
+        }
+
+        // Assert
+        assertEquals(8, limiter.limit());
+    }
+
+    @Test
+    void whenFastResponsesWithoutLoad_thenLimitDoesNotGrow() {
+        // Arrange
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 1, 100, Duration.ofMillis(50), 0.5);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire();
+            limiter.onResponse(FAST, false, i);
+        }
+
+        // Assert
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void whenSlowOrFailedResponses_thenLimitShrinksDownToTheMinimum() {
+        // Arrange
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(64, 2, 100, Duration.ofMillis(50), 0.5);
+
+        // Act
+        limiter.tryAcquire();
+        limiter.onResponse(SLOW, false, 0);
+        int afterSlow = limiter.limit();
+        limiter.tryAcquire();
+        limiter.onResponse(FAST, true, THRESHOLD);
+        int afterFailure = limiter.limit();
+        for (int i = 2; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onResponse(SLOW, false, i * THRESHOLD);
+        }
+
+        // Assert
+        assertEquals(32, afterSlow);
+        assertEquals(16, afterFailure);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void whenBurstOfSlowResponses_thenLimitShrinksOncePerThreshold() {
+        // Arrange
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(64, 1, 100, Duration.ofMillis(50), 0.5);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.onResponse(SLOW, false, 1_000 + i);
+        }
+
+        // Assert
+        assertEquals(32, limiter.limit());
+    }
+
+    @Test
+    void whenSettingsAreNotValid_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new AimdConcurrencyLimiter(10, 0, 100, Duration.ofMillis(50), 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AimdConcurrencyLimiter(200, 1, 100, Duration.ofMillis(50), 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AimdConcurrencyLimiter(10, 1, 100, Duration.ZERO, 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AimdConcurrencyLimiter(10, 1, 100, Duration.ofMillis(50), 1.0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.hexagonal.adapters.in.web;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el formato binario de la API de pedidos.
+ */
+class OrderBinaryFormatTest {
+
+    @Test
+    void whenEncodeAndDecodeOrder_thenAllFieldsShouldBePreserved() throws IOException {
+        // Arrange
+        Order order = Order.create("cliente-ñ", 123.45);
+        order.confirm();
+        order.setVersion(7);
+
+        // Act
+        Order decoded = OrderBinaryFormat.decodeOrder(OrderBinaryFormat.encodeOrder(order));
+
+        // Assert
+        assertEquals(order, decoded);
+    }
+
+    @Test
+    void whenOrderHasNoStatusOrCreationDate_thenTheyShouldStayEmpty() throws IOException {
+        // Arrange
+        Order order = Order.builder().id("1").customerId("123").total(10.0).build();
+
+        // Act
+        Order decoded = OrderBinaryFormat.decodeOrder(OrderBinaryFormat.encodeOrder(order));
+
+        // Assert
+        assertNull(decoded.getStatus());
+        assertNull(decoded.getCreatedAt());
+    }
+
+    @Test
+    void whenEncodeAndDecodeCreateOrder_thenFieldsShouldBePreserved() throws IOException {
+        // Arrange
+        CreateOrderCommand command = new CreateOrderCommand("123", 99.5);
+
+        // Act
+        byte[] message = OrderBinaryFormat.encodeCreateOrder(command);
+
+        // Assert
+        assertEquals(1 + 2 + 3 + 8, message.length);
+        assertEquals(command, OrderBinaryFormat.decodeCreateOrder(message));
+    }
+
+    @Test
+    void whenMessageIsTruncatedOrFromAnotherVersion_thenThrowException() {
+        // Arrange
+        byte[] message = OrderBinaryFormat.encodeCreateOrder(new CreateOrderCommand("123", 99.5));
+        byte[] otherVersion = message.clone();
+        otherVersion[0] = 9;
+
+        // Act & Assert
+        assertThrows(IOException.class,
+                () -> OrderBinaryFormat.decodeCreateOrder(Arrays.copyOf(message, message.length - 1)));
+        assertThrows(IOException.class, () -> OrderBinaryFormat.decodeCreateOrder(otherVersion));
+    }
+}
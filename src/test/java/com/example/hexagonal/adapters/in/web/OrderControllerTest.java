@@ -2,8 +2,14 @@ package com.example.hexagonal.adapters.in.web;
 
 import com.example.hexagonal.domain.model.Order;
 import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderView;
+import com.example.hexagonal.domain.model.OrderViewPage;
+import com.example.hexagonal.domain.ports.in.BulkOrderTransitionUseCase;
 import com.example.hexagonal.domain.ports.in.ConfirmOrderUseCase;
 import com.example.hexagonal.domain.ports.in.CreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.ExportOrdersUseCase;
+import com.example.hexagonal.domain.ports.in.IdempotentCreateOrderUseCase;
+import com.example.hexagonal.domain.ports.in.QueryOrdersUseCase;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +18,21 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,39 +52,97 @@ class OrderControllerTest {
     @MockBean
     private CreateOrderUseCase createOrderUseCase;
     
+    @MockBean
+    private IdempotentCreateOrderUseCase idempotentCreateOrderUseCase;
+    
     @MockBean
     private ConfirmOrderUseCase confirmOrderUseCase;
     
+    @MockBean
+    private QueryOrdersUseCase queryOrdersUseCase;
+    
+    @MockBean
+    private BulkOrderTransitionUseCase bulkOrderTransitionUseCase;
+    
+    @MockBean
+    private ExportOrdersUseCase exportOrdersUseCase;
+    
     @Test
     void whenCreateOrder_thenReturnCreatedOrder() throws Exception {
         // Arrange
         String customerId = "123";
         double amount = 100.0;
-        Order order = Order.create(customerId, "Cliente Test", amount);
+        Order order = Order.create(customerId, amount);
         
         when(createOrderUseCase.createOrder(eq(customerId), eq(amount))).thenReturn(order);
         
         // Act & Assert
         mockMvc.perform(post("/api/orders")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(new CreateOrderRequest(customerId, amount))))
-                .andExpect(status().isOk())
+                .content(objectMapper.writeValueAsString(Map.of("customerId", customerId, "total", amount))))
+                .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(order.getId()))
                 .andExpect(jsonPath("$.customerId").value(customerId))
-                .andExpect(jsonPath("$.amount").value(amount))
+                .andExpect(jsonPath("$.total").value(amount))
                 .andExpect(jsonPath("$.status").value(OrderStatus.PENDING.name()));
     }
     
+    @Test
+    void whenCreateOrderWithIdempotencyKey_thenUseIdempotentUseCase() throws Exception {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        when(idempotentCreateOrderUseCase.createOrder(eq("key-1"), eq("123"), eq(100.0))).thenReturn(order);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"123\",\"total\":100.0}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(order.getId()));
+        verify(createOrderUseCase, never()).createOrder(any(), anyDouble());
+    }
+    
+    @Test
+    void whenIdempotencyKeyIsReusedWithOtherData_thenReturnUnprocessableEntity() throws Exception {
+        // Arrange
+        when(idempotentCreateOrderUseCase.createOrder(eq("key-1"), eq("123"), eq(200.0)))
+                .thenThrow(new IllegalStateException("Idempotency key reused with a different request: key-1"));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"123\",\"total\":200.0}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+    
+    @Test
+    void whenIdempotencyKeyRefersToMissingOrder_thenReturnConflict() throws Exception {
+        // Arrange
+        when(idempotentCreateOrderUseCase.createOrder(eq("key-1"), eq("123"), eq(100.0)))
+                .thenThrow(new NoSuchElementException("Order not found: order-1"));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"123\",\"total\":100.0}"))
+                .andExpect(status().isConflict());
+    }
+    
     @Test
     void whenCreateOrderWithInvalidData_thenReturnBadRequest() throws Exception {
         // Arrange
         String customerId = "";
         double amount = -100.0;
+        when(createOrderUseCase.createOrder(eq(customerId), eq(amount)))
+                .thenThrow(new IllegalArgumentException("Customer id is required"));
         
         // Act & Assert
         mockMvc.perform(post("/api/orders")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(new CreateOrderRequest(customerId, amount))))
+                .content(objectMapper.writeValueAsString(Map.of("customerId", customerId, "total", amount))))
                 .andExpect(status().isBadRequest());
     }
     
@@ -75,7 +150,7 @@ class OrderControllerTest {
     void whenConfirmOrder_thenReturnConfirmedOrder() throws Exception {
         // Arrange
         String orderId = "123";
-        Order order = Order.create("456", "Cliente Test", 100.0);
+        Order order = Order.create("456", 100.0);
         order.confirm();
         
         when(confirmOrderUseCase.confirmOrder(eq(orderId))).thenReturn(order);
@@ -93,7 +168,7 @@ class OrderControllerTest {
         String orderId = "123";
         
         when(confirmOrderUseCase.confirmOrder(eq(orderId)))
-                .thenThrow(new IllegalArgumentException("Order not found"));
+                .thenThrow(new NoSuchElementException("Order not found"));
         
         // Act & Assert
         mockMvc.perform(post("/api/orders/{orderId}/confirm", orderId))
@@ -112,4 +187,56 @@ class OrderControllerTest {
         mockMvc.perform(post("/api/orders/{orderId}/confirm", orderId))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void whenExportOrders_thenReturnOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        Order first = Order.create("123", 100.0);
+        Order second = Order.create("456", 200.0);
+        first.confirm();
+        second.confirm();
+        
+        when(exportOrdersUseCase.exportOrders(eq(OrderStatus.CONFIRMED), eq(null), eq(null)))
+                .thenReturn(Stream.of(first, second));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/export").param("status", "CONFIRMED"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(OrderController.NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(first) + "\n"
+                                + objectMapper.writeValueAsString(second) + "\n"));
+    }
+    
+    @Test
+    void whenExportOrdersWithInvalidWindow_thenReturnBadRequest() throws Exception {
+        // Arrange
+        when(exportOrdersUseCase.exportOrders(any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Export window starts after it ends"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/export")
+                .param("from", "2024-02-01T00:00:00")
+                .param("to", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void whenListOrders_thenReturnPageFromReadModel() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        OrderView view = new OrderView("order-1", "123", 100.0, OrderStatus.CONFIRMED, createdAt, createdAt.plusMinutes(1));
+        when(queryOrdersUseCase.listOrders(eq(OrderStatus.CONFIRMED), eq("123"), eq(null), eq(10)))
+                .thenReturn(new OrderViewPage(List.of(view), null, createdAt.plusMinutes(1)));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/orders")
+                .param("status", "CONFIRMED")
+                .param("customerId", "123")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].id").value("order-1"))
+                .andExpect(jsonPath("$.orders[0].status").value(OrderStatus.CONFIRMED.name()))
+                .andExpect(jsonPath("$.asOf").exists());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hexagonal.adapters.out.events;
+
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el bus de eventos sobre buffer circular.
+ */
+class RingBufferOrderEventBusTest {
+
+    @Test
+    void whenPublishingEvents_thenEverySubscriberReceivesThemInOrder() {
+        // Arrange
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(1024, new MetricsRegistry());
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        RingBufferOrderEventBus.Subscription firstSubscription =
+                bus.subscribe("first", event -> first.add(event.getOrderId()));
+        RingBufferOrderEventBus.Subscription secondSubscription =
+                bus.subscribe("second", event -> second.add(event.getOrderId()));
+        List<String> published = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            OrderEvent event = created();
+            published.add(event.getOrderId());
+            bus.publish(event);
+        }
+        bus.close();
+
+        // Assert
+        assertEquals(published, first);
+        assertEquals(published, second);
+        assertEquals(500, firstSubscription.delivered());
+        assertEquals(0, secondSubscription.dropped());
+        assertEquals(500, bus.published());
+    }
+
+    @Test
+    void whenSubscriberIsTooSlow_thenPublishingDoesNotBlockAndEventsAreDropped() throws InterruptedException {
+        // Arrange
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(16, new MetricsRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        RingBufferOrderEventBus.Subscription slow = bus.subscribe("slow", event -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            bus.publish(created());
+        }
+        long lag = slow.lag();
+        release.countDown();
+        bus.close();
+
+        // Assert
+        assertTrue(lag > 16, "lag " + lag);
+        assertTrue(slow.dropped() > 0);
+        assertEquals(1000, slow.delivered() + slow.dropped());
+        assertEquals(0, slow.lag());
+    }
+
+    @Test
+    void whenSubscriberFails_thenFailureIsCountedAndDeliveryContinues() {
+        // Arrange
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(64, new MetricsRegistry());
+        List<OrderEvent> received = new ArrayList<>();
+        RingBufferOrderEventBus.Subscription subscription = bus.subscribe("flaky", event -> {
+            if (received.isEmpty()) {
+                received.add(event);
+                throw new IllegalStateException("boom");
+            }
+            received.add(event);
+        });
+
+        // Act
+        bus.publish(created());
+        bus.publish(created());
+        bus.close();
+
+        // Assert
+        assertEquals(2, received.size());
+        assertEquals(1, subscription.failed());
+        assertEquals(1, subscription.delivered());
+    }
+
+    @Test
+    void whenSubscribing_thenSubscriberGaugesAreRegistered() {
+        // Arrange
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(64, metricsRegistry);
+
+        // Act
+        bus.subscribe("audit", event -> { });
+        bus.publish(created());
+        bus.close();
+
+        // Assert
+        Map<String, Long> gauges = metricsRegistry.gauges();
+        assertEquals(1L, gauges.get("events.published"));
+        assertEquals(1L, gauges.get("events.audit.delivered"));
+        assertEquals(0L, gauges.get("events.audit.dropped"));
+        assertEquals(0L, gauges.get("events.audit.failed"));
+        assertEquals(0L, gauges.get("events.audit.lag"));
+    }
+
+    @Test
+    void whenCapacityIsNotAPowerOfTwo_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferOrderEventBus(100, new MetricsRegistry()));
+    }
+
+    private static OrderEvent created() {
+        return OrderCreated.of(Order.create("customer", 10.0));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el decorador CachingOrderRepository.
+ */
+class CachingOrderRepositoryTest {
+
+    private InMemoryOrderRepository store;
+    private CachingOrderRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOrderRepository();
+        repository = new CachingOrderRepository(store, 64);
+    }
+    
+    @Test
+    void whenReadingTwice_thenSecondReadShouldHitTheCache() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        store.save(order);
+        
+        // Act
+        repository.findById(order.getId());
+        repository.findById(order.getId());
+        
+        // Assert
+        assertEquals(1, repository.misses());
+        assertEquals(1, repository.hits());
+    }
+    
+    @Test
+    void whenSaving_thenCacheShouldBeWrittenThrough() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        
+        // Act
+        order.confirm();
+        assertTrue(repository.compareAndSave(order));
+        Order cached = repository.findById(order.getId()).get();
+        
+        // Assert
+        assertEquals(1, repository.hits());
+        assertEquals(OrderStatus.CONFIRMED, cached.getStatus());
+        assertEquals(1, cached.getVersion());
+        assertEquals(cached, store.findById(order.getId()).get());
+    }
+    
+    @Test
+    void whenCompareAndSaveFails_thenStaleEntryShouldBeDropped() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        Order changedElsewhere = order.toBuilder().build();
+        changedElsewhere.cancel();
+        assertTrue(store.compareAndSave(changedElsewhere));
+        
+        // Act
+        order.confirm();
+        boolean saved = repository.compareAndSave(order);
+        
+        // Assert
+        assertFalse(saved);
+        assertEquals(OrderStatus.CANCELLED, repository.findById(order.getId()).get().getStatus());
+    }
+    
+    @Test
+    void whenCacheIsFull_thenLeastRecentlyUsedOrdersShouldBeEvicted() {
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            repository.save(Order.create("123", i));
+        }
+        
+        // Assert
+        assertTrue(repository.size() <= 64);
+        assertEquals(1000 - repository.size(), repository.evictions());
+        assertEquals(1000, store.findAll().size());
+    }
+    
+    @Test
+    void whenFindingManyById_thenOnlyMissesShouldReachTheStore() {
+        // Arrange
+        Order cached = Order.create("123", 100.0);
+        Order notCached = Order.create("456", 200.0);
+        repository.save(cached);
+        store.save(notCached);
+        
+        // Act
+        List<Order> found = repository.findAllById(Arrays.asList(cached.getId(), notCached.getId(), "missing"));
+        
+        // Assert
+        assertEquals(2, found.size());
+        assertEquals(1, repository.hits());
+        assertEquals(2, repository.misses());
+        assertTrue(repository.findById(notCached.getId()).isPresent());
+        assertEquals(2, repository.hits());
+    }
+    
+    @Test
+    void whenOlderWriteFinishesLast_thenNewerVersionShouldNotBeReplaced() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        Runnable[] whileSaving = { () -> { } };
+        CachingOrderRepository cache = new CachingOrderRepository(new InMemoryOrderRepository() {
+            @Override
+            public Order save(Order saved) {
+                Order result = super.save(saved);
+                whileSaving[0].run();
+                return result;
+            }
+        }, 64);
+        Order confirmed = order.toBuilder().build();
+        confirmed.confirm();
+        whileSaving[0] = () -> {
+            whileSaving[0] = () -> { };
+            assertTrue(cache.compareAndSave(confirmed));
+        };
+        
+        // Act
+        cache.save(order);
+        
+        // Assert
+        Order found = cache.findById(order.getId()).orElseThrow();
+        assertEquals(1, found.getVersion());
+        assertEquals(OrderStatus.CONFIRMED, found.getStatus());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.CustomerOrderStats;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la vista de estadísticas por cliente en memoria.
+ */
+class InMemoryCustomerStatsRepositoryTest {
+
+    private InMemoryCustomerStatsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryCustomerStatsRepository();
+    }
+
+    @Test
+    void whenCustomerHasNoOrders_thenStatsAreZero() {
+        // Act
+        CustomerOrderStats stats = repository.findByCustomerId("123");
+
+        // Assert
+        assertEquals(CustomerOrderStats.empty("123"), stats);
+    }
+
+    @Test
+    void whenOrdersAreCreatedAndTransitioned_thenStatsFollowTheirStatus() {
+        // Arrange
+        Order confirmed = Order.create("123", 100.0);
+        Order cancelled = Order.create("123", 50.0);
+        Order pending = Order.create("123", 25.5);
+        Order otherCustomer = Order.create("456", 999.0);
+
+        // Act
+        repository.orderCreated(confirmed);
+        repository.orderCreated(cancelled);
+        repository.orderCreated(pending);
+        repository.orderCreated(otherCustomer);
+        confirmed.confirm();
+        repository.orderStatusChanged(confirmed, OrderStatus.PENDING);
+        cancelled.cancel();
+        repository.orderStatusChanged(cancelled, OrderStatus.PENDING);
+
+        // Assert
+        assertEquals(new CustomerOrderStats("123", 3, 100.0, 25.5), repository.findByCustomerId("123"));
+        assertEquals(new CustomerOrderStats("456", 1, 0.0, 999.0), repository.findByCustomerId("456"));
+    }
+
+    @Test
+    void whenStatusChangeArrivesBeforeCreation_thenStatsEndUpTheSame() {
+        // Arrange
+        Order order = Order.create("123", 10.0);
+        Order confirmedCopy = order.toBuilder().build();
+        confirmedCopy.confirm();
+
+        // Act
+        repository.orderStatusChanged(confirmedCopy, OrderStatus.PENDING);
+        repository.orderCreated(order);
+
+        // Assert
+        assertEquals(new CustomerOrderStats("123", 1, 10.0, 0.0), repository.findByCustomerId("123"));
+    }
+
+    @Test
+    void whenAmountsAreAddedAndRemovedManyTimes_thenNoRoundingErrorAccumulates() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Order order = Order.create("123", 0.1);
+            repository.orderCreated(order);
+            orders.add(order);
+        }
+
+        // Act
+        for (Order order : orders) {
+            order.cancel();
+            repository.orderStatusChanged(order, OrderStatus.PENDING);
+        }
+
+        // Assert
+        assertEquals(0.0, repository.findByCustomerId("123").getPendingAmount());
+    }
+
+    @Test
+    void whenRebuildFromOrders_thenEachOrderCountsWithItsCurrentStatus() {
+        // Arrange
+        Order confirmed = Order.create("123", 100.0);
+        confirmed.confirm();
+        Order pending = Order.create("123", 40.0);
+
+        // Act
+        long rebuilt = repository.rebuild(Stream.of(confirmed, pending));
+
+        // Assert
+        assertEquals(2, rebuilt);
+        assertEquals(new CustomerOrderStats("123", 2, 100.0, 40.0), repository.findByCustomerId("123"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.events.OrderCancelled;
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderView;
+import com.example.hexagonal.domain.model.OrderViewPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el modelo de lectura de pedidos en memoria.
+ */
+class InMemoryOrderReadModelTest {
+
+    private final InMemoryOrderReadModel readModel = new InMemoryOrderReadModel();
+
+    @Test
+    void whenEventsApplied_thenViewsFollowOrderStatus() {
+        // Arrange
+        Order confirmed = Order.create("123", 100.0);
+        Order pending = Order.create("456", 50.0);
+        readModel.apply(OrderCreated.of(confirmed));
+        readModel.apply(OrderCreated.of(pending));
+
+        // Act
+        confirmed.confirm();
+        readModel.apply(OrderConfirmed.of(confirmed));
+
+        // Assert
+        OrderViewPage all = readModel.findPage(null, null, null, 10);
+        assertEquals(2, all.getOrders().size());
+        assertNotNull(all.getAsOf());
+        List<OrderView> confirmedViews = readModel.findPage(OrderStatus.CONFIRMED, null, null, 10).getOrders();
+        assertEquals(1, confirmedViews.size());
+        assertEquals(confirmed.getId(), confirmedViews.get(0).getId());
+        assertEquals(List.of(pending.getId()), ids(readModel.findPage(OrderStatus.PENDING, "456", null, 10)));
+        assertTrue(readModel.findPage(OrderStatus.PENDING, "123", null, 10).getOrders().isEmpty());
+    }
+
+    @Test
+    void whenConfirmationArrivesBeforeCreation_thenViewEndsConfirmed() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        OrderCreated created = OrderCreated.of(order);
+        order.confirm();
+
+        // Act
+        readModel.apply(OrderConfirmed.of(order));
+        boolean listedBeforeCreation = !readModel.findPage(null, null, null, 10).getOrders().isEmpty();
+        readModel.apply(created);
+
+        // Assert
+        assertFalse(listedBeforeCreation);
+        List<OrderView> views = readModel.findPage(null, null, null, 10).getOrders();
+        assertEquals(1, views.size());
+        assertEquals(OrderStatus.CONFIRMED, views.get(0).getStatus());
+        assertEquals(order.getCreatedAt(), views.get(0).getCreatedAt());
+        assertTrue(readModel.findPage(OrderStatus.PENDING, null, null, 10).getOrders().isEmpty());
+    }
+
+    @Test
+    void whenRefreshedWithStaleOrder_thenFinalStatusIsKept() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        Order stale = order.toBuilder().build();
+        order.cancel();
+        readModel.apply(OrderCreated.of(order));
+        readModel.apply(OrderCancelled.of(order));
+
+        // Act
+        readModel.refresh(stale);
+
+        // Assert
+        assertEquals(List.of(order.getId()), ids(readModel.findPage(OrderStatus.CANCELLED, null, null, 10)));
+        assertTrue(readModel.findPage(OrderStatus.PENDING, null, null, 10).getOrders().isEmpty());
+    }
+
+    @Test
+    void whenPaging_thenEveryViewIsReturnedOnceInCreationOrder() {
+        // Arrange
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Order order = Order.create("123", i);
+            created.add(order.getId());
+            readModel.refresh(order);
+        }
+
+        // Act
+        List<String> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderViewPage page = readModel.findPage(null, "123", cursor, 10);
+            listed.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(created, listed);
+    }
+
+    @Test
+    void whenLimitIsNotPositive_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> readModel.findPage(null, null, null, 0));
+    }
+
+    private static List<String> ids(OrderViewPage page) {
+        List<String> ids = new ArrayList<>();
+        page.getOrders().forEach(view -> ids.add(view.getId()));
+        return ids;
+    }
+}
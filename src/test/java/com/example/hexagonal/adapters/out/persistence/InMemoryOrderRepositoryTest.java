@@ -1,12 +1,19 @@
 package com.example.hexagonal.adapters.out.persistence;
 
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
 import com.example.hexagonal.domain.model.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,8 +32,8 @@ class InMemoryOrderRepositoryTest {
         repository = new InMemoryOrderRepository();
         
         // Crear pedidos de prueba
-        order1 = Order.create("123", "Cliente 1", 100.0);
-        order2 = Order.create("456", "Cliente 2", 200.0);
+        order1 = Order.create("123", 100.0);
+        order2 = Order.create("456", 200.0);
         
         // Guardar pedidos en el repositorio
         repository.save(order1);
@@ -36,7 +43,7 @@ class InMemoryOrderRepositoryTest {
     @Test
     void whenSaveOrder_thenOrderShouldBeRetrieved() {
         // Arrange
-        Order newOrder = Order.create("789", "Cliente 3", 300.0);
+        Order newOrder = Order.create("789", 300.0);
         
         // Act
         Order savedOrder = repository.save(newOrder);
@@ -60,7 +67,7 @@ class InMemoryOrderRepositoryTest {
         assertTrue(foundOrder.isPresent());
         assertEquals(order1.getId(), foundOrder.get().getId());
         assertEquals(order1.getCustomerId(), foundOrder.get().getCustomerId());
-        assertEquals(order1.getAmount(), foundOrder.get().getAmount());
+        assertEquals(order1.getTotal(), foundOrder.get().getTotal());
     }
     
     @Test
@@ -86,7 +93,7 @@ class InMemoryOrderRepositoryTest {
     @Test
     void whenFindByCustomerId_thenCustomerOrdersShouldBeReturned() {
         // Arrange
-        Order order3 = Order.create("123", "Cliente 1", 150.0);
+        Order order3 = Order.create("123", 150.0);
         repository.save(order3);
         
         // Act
@@ -114,4 +121,193 @@ class InMemoryOrderRepositoryTest {
         assertTrue(foundOrder.isPresent());
         assertEquals(OrderStatus.CONFIRMED, foundOrder.get().getStatus());
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void whenOrderChangesCustomer_thenCustomerIndexShouldFollow() {
+        // Arrange
+        order1.setCustomerId("999");
+        
+        // Act
+        repository.save(order1);
+        
+        // Assert
+        assertTrue(repository.findByCustomerId("123").isEmpty());
+        assertEquals(1, repository.findByCustomerId("999").size());
+    }
+    
+    @Test
+    void whenSavingConcurrently_thenNoOrderShouldBeLost() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int ordersPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // Act
+        for (int t = 0; t < threads; t++) {
+            String customerId = "customer-" + t;
+            executor.execute(() -> {
+                for (int i = 0; i < ordersPerThread; i++) {
+                    repository.save(Order.create(customerId, i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        // Assert
+        assertEquals(2 + threads * ordersPerThread, repository.findAll().size());
+        assertEquals(ordersPerThread, repository.findByCustomerId("customer-3").size());
+    }
+    
+    @Test
+    void whenOrderIsConfirmed_thenStatusIndexShouldBeUpdated() {
+        // Arrange
+        order1.confirm();
+        
+        // Act
+        repository.save(order1);
+        
+        // Assert
+        List<Order> pending = repository.findByStatus(OrderStatus.PENDING);
+        List<Order> confirmed = repository.findByStatus(OrderStatus.CONFIRMED);
+        assertEquals(1, pending.size());
+        assertEquals(order2.getId(), pending.get(0).getId());
+        assertEquals(1, confirmed.size());
+        assertEquals(order1.getId(), confirmed.get(0).getId());
+    }
+    
+    @Test
+    void whenFindByCreatedAtBetween_thenOnlyOrdersInRangeShouldBeReturnedInOrder() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Order early = Order.create("123", 10.0);
+        early.setCreatedAt(base);
+        Order middle = Order.create("123", 20.0);
+        middle.setCreatedAt(base.plusHours(1));
+        Order late = Order.create("123", 30.0);
+        late.setCreatedAt(base.plusHours(2));
+        repository.save(late);
+        repository.save(early);
+        repository.save(middle);
+        
+        // Act
+        List<Order> result = repository.findByCreatedAtBetween(base, base.plusHours(1));
+        
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(early.getId(), result.get(0).getId());
+        assertEquals(middle.getId(), result.get(1).getId());
+    }
+    
+    @Test
+    void whenStreamByCreatedAtBetween_thenOrdersInRangeShouldBeStreamedInOrder() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int hour = 3; hour >= 0; hour--) {
+            Order order = Order.create("123", hour);
+            order.setCreatedAt(base.plusHours(hour));
+            repository.save(order);
+        }
+        
+        // Act
+        List<Double> totals = repository.streamByCreatedAtBetween(base.plusHours(1), base.plusHours(3))
+                .map(Order::getTotal)
+                .collect(Collectors.toList());
+        
+        // Assert
+        assertEquals(List.of(1.0, 2.0, 3.0), totals);
+    }
+    
+    @Test
+    void whenPagingWithCursor_thenEveryOrderShouldBeReturnedOnce() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            repository.save(Order.create("123", i));
+        }
+        
+        // Act
+        OrderPage first = repository.findPage(null, 5);
+        OrderPage second = repository.findPage(first.getNextCursor(), 5);
+        OrderPage third = repository.findPage(second.getNextCursor(), 5);
+        
+        // Assert
+        assertEquals(5, first.getOrders().size());
+        assertEquals(5, second.getOrders().size());
+        assertEquals(2, third.getOrders().size());
+        assertNull(third.getNextCursor());
+        assertTrue(first.getOrders().stream()
+                .noneMatch(order -> second.getOrders().stream().anyMatch(other -> other.getId().equals(order.getId()))));
+    }
+    
+    @Test
+    void whenPagingWithInvalidCursor_thenShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage("not-a-cursor", 5));
+    }
+    
+    @Test
+    void whenCompareAndSaveWithStaleVersion_thenShouldBeRejected() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        Order first = repository.findById(order.getId()).get();
+        Order second = repository.findById(order.getId()).get();
+        
+        // Act
+        first.confirm();
+        boolean firstSaved = repository.compareAndSave(first);
+        second.cancel();
+        boolean secondSaved = repository.compareAndSave(second);
+        
+        // Assert
+        assertTrue(firstSaved);
+        assertFalse(secondSaved);
+        assertEquals(1, first.getVersion());
+        assertEquals(OrderStatus.CONFIRMED, repository.findById(order.getId()).get().getStatus());
+        assertEquals(1, repository.findByStatus(OrderStatus.CONFIRMED).size());
+        assertTrue(repository.findByStatus(OrderStatus.CANCELLED).isEmpty());
+    }
+    
+    @Test
+    void whenConfirmAndCancelRace_thenOnlyOneTransitionShouldWin() throws InterruptedException {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger wins = new AtomicInteger();
+        
+        // Act
+        for (int i = 0; i < 64; i++) {
+            boolean confirm = i % 2 == 0;
+            executor.submit(() -> {
+                Order current = repository.findById(order.getId()).get();
+                if (current.getStatus() != OrderStatus.PENDING) {
+                    return;
+                }
+                if (confirm) {
+                    current.confirm();
+                } else {
+                    current.cancel();
+                }
+                if (repository.compareAndSave(current)) {
+                    wins.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        // Assert
+        assertEquals(1, wins.get());
+        assertEquals(1, repository.findById(order.getId()).get().getVersion());
+    }
+    
+    @Test
+    void whenCompareAndSaveMissingOrder_thenShouldBeRejected() {
+        // Act & Assert
+        Order missing = Order.create("123", 100.0);
+        assertFalse(repository.compareAndSave(missing));
+        assertFalse(repository.findById(missing.getId()).isPresent());
+        assertEquals(2, repository.findAll().size());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el repositorio OffHeapOrderRepository.
+ * Estas pruebas verifican que los pedidos se reconstruyen correctamente desde las columnas.
+ */
+class OffHeapOrderRepositoryTest {
+
+    private OffHeapOrderRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapOrderRepository();
+    }
+    
+    @Test
+    void whenSaveOrder_thenOrderShouldBeMaterializedWithSameValues() {
+        // Arrange
+        Order order = Order.create("123", 99.95);
+        order.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000));
+        
+        // Act
+        repository.save(order);
+        Optional<Order> found = repository.findById(order.getId());
+        
+        // Assert
+        assertTrue(found.isPresent());
+        assertEquals(order, found.get());
+    }
+    
+    @Test
+    void whenUpdateOrder_thenRowShouldBeOverwritten() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        
+        // Act
+        order.confirm();
+        order.setCustomerId("456");
+        repository.save(order);
+        
+        // Assert
+        assertEquals(1, repository.findAll().size());
+        assertEquals(OrderStatus.CONFIRMED, repository.findById(order.getId()).orElseThrow().getStatus());
+        assertTrue(repository.findByCustomerId("123").isEmpty());
+        assertEquals(1, repository.findByCustomerId("456").size());
+        assertEquals(1, repository.findByStatus(OrderStatus.CONFIRMED).size());
+        assertTrue(repository.findByStatus(OrderStatus.PENDING).isEmpty());
+    }
+    
+    @Test
+    void whenStoringManyOrders_thenEveryIdShouldStillBeFound() {
+        // Arrange
+        int count = 200_000;
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            Order order = Order.create("customer-" + (i % 100), i);
+            ids[i] = order.getId();
+            repository.save(order);
+        }
+        
+        // Act & Assert
+        for (int i = 0; i < count; i += 997) {
+            assertEquals(i, repository.findById(ids[i]).orElseThrow().getTotal());
+        }
+        assertEquals(count / 100, repository.findByCustomerId("customer-7").size());
+        assertFalse(repository.findById("missing").isPresent());
+    }
+    
+    @Test
+    void whenFindByCreatedAtBetween_thenOrdersInRangeShouldBeReturnedInOrder() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int hour = 3; hour >= 0; hour--) {
+            Order order = Order.create("123", hour);
+            order.setCreatedAt(base.plusHours(hour));
+            repository.save(order);
+        }
+        
+        // Act
+        List<Order> result = repository.findByCreatedAtBetween(base.plusHours(1), base.plusHours(2));
+        
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1.0, result.get(0).getTotal());
+        assertEquals(2.0, result.get(1).getTotal());
+    }
+    
+    @Test
+    void whenStreamByCreatedAtBetweenWithOpenBounds_thenBoundsShouldNotOverflow() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int hour = 0; hour < 4; hour++) {
+            Order order = Order.create("123", hour);
+            order.setCreatedAt(base.plusHours(hour));
+            repository.save(order);
+        }
+        
+        // Act
+        Set<Double> totals = repository.streamByCreatedAtBetween(LocalDateTime.MIN, base.plusHours(1))
+                .map(Order::getTotal)
+                .collect(Collectors.toSet());
+        
+        // Assert
+        assertEquals(Set.of(0.0, 1.0), totals);
+    }
+    
+    @Test
+    void whenPaging_thenEveryOrderShouldBeReturnedOnce() {
+        // Arrange
+        for (int i = 0; i < 25; i++) {
+            repository.save(Order.create("123", i));
+        }
+        
+        // Act
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            OrderPage page = repository.findPage(cursor, 10);
+            page.getOrders().forEach(order -> seen.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        // Assert
+        assertEquals(25, seen.size());
+    }
+    
+    @Test
+    void whenCompareAndSave_thenVersionColumnShouldBeChecked() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        Order stale = repository.findById(order.getId()).get();
+        
+        // Act
+        order.confirm();
+        boolean saved = repository.compareAndSave(order);
+        stale.cancel();
+        boolean staleSaved = repository.compareAndSave(stale);
+        
+        // Assert
+        assertTrue(saved);
+        assertFalse(staleSaved);
+        Order stored = repository.findById(order.getId()).get();
+        assertEquals(1, stored.getVersion());
+        assertEquals(OrderStatus.CONFIRMED, stored.getStatus());
+    }
+    
+    @Test
+    void whenSavingOrderWithOversizedId_thenNoRowShouldBeAdded() {
+        // Arrange
+        repository.save(Order.create("123", 100.0));
+        String oversizedId = new String(new char[Short.MAX_VALUE + 1]).replace('\0', 'x');
+        Order oversized = Order.create("123", 50.0).toBuilder().id(oversizedId).build();
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> repository.save(oversized));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.saveAll(List.of(Order.create("456", 10.0), oversized)));
+        assertEquals(1, repository.findAll().size());
+        assertEquals(1, repository.findPage(null, 10).getOrders().size());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderPage;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el repositorio de pedidos particionado por cliente.
+ */
+class PartitionedOrderRepositoryTest {
+
+    private PartitionedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PartitionedOrderRepository(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void whenSaveOrders_thenTheyShouldBeFoundByIdAndCustomer() {
+        // Arrange
+        for (int customer = 0; customer < 20; customer++) {
+            for (int i = 0; i < 3; i++) {
+                repository.save(Order.create("customer-" + customer, i));
+            }
+        }
+        Order order = Order.create("customer-7", 99.0);
+        repository.save(order);
+
+        // Act & Assert
+        assertEquals(order, repository.findById(order.getId()).orElseThrow());
+        assertEquals(4, repository.findByCustomerId("customer-7").size());
+        assertEquals(61, repository.findAll().size());
+        assertEquals(61, repository.streamAll().count());
+        assertFalse(repository.findById("missing").isPresent());
+    }
+
+    @Test
+    void whenFindByStatus_thenResultsFromEveryPartitionShouldBeMerged() {
+        // Arrange
+        for (int customer = 0; customer < 20; customer++) {
+            Order order = Order.create("customer-" + customer, customer);
+            if (customer % 2 == 0) {
+                order.confirm();
+            }
+            repository.save(order);
+        }
+
+        // Act & Assert
+        assertEquals(10, repository.findByStatus(OrderStatus.CONFIRMED).size());
+        assertEquals(10, repository.findByStatus(OrderStatus.PENDING).size());
+    }
+
+    @Test
+    void whenFindByCreatedAtBetween_thenOrdersShouldBeMergedInOrder() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int hour = 5; hour >= 0; hour--) {
+            Order order = Order.create("customer-" + hour, hour);
+            order.setCreatedAt(base.plusHours(hour));
+            repository.save(order);
+        }
+
+        // Act
+        List<Order> result = repository.findByCreatedAtBetween(base.plusHours(1), base.plusHours(4));
+
+        // Assert
+        assertEquals(4, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i + 1.0, result.get(i).getTotal());
+        }
+    }
+
+    @Test
+    void whenPagingAcrossPartitions_thenEveryOrderShouldBeReturnedOnceInOrder() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < 25; i++) {
+            Order order = Order.create("customer-" + i, i);
+            order.setCreatedAt(base.plusMinutes(i));
+            repository.save(order);
+        }
+        Set<String> seen = new HashSet<>();
+        double previous = -1;
+
+        // Act
+        String cursor = null;
+        int pages = 0;
+        do {
+            OrderPage page = repository.findPage(cursor, 10);
+            for (Order order : page.getOrders()) {
+                assertTrue(seen.add(order.getId()));
+                assertTrue(order.getTotal() > previous);
+                previous = order.getTotal();
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void whenCompareAndSave_thenItShouldBeRoutedToTheOrderPartition() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        Order stale = order.toBuilder().build();
+
+        // Act & Assert
+        assertTrue(repository.compareAndSave(order));
+        assertFalse(repository.compareAndSave(stale));
+        assertFalse(repository.compareAndSave(Order.create("123", 1.0)));
+        assertEquals(1, repository.findById(order.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void whenFindAllById_thenOrdersFromEveryPartitionShouldBeFound() {
+        // Arrange
+        List<String> ids = new ArrayList<>();
+        for (int customer = 0; customer < 20; customer++) {
+            Order order = Order.create("customer-" + customer, customer);
+            repository.save(order);
+            ids.add(order.getId());
+        }
+        ids.add("missing");
+
+        // Act
+        List<Order> found = repository.findAllById(ids);
+
+        // Assert
+        assertEquals(20, found.size());
+    }
+
+    @Test
+    void whenCursorIsInvalid_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage("not-a-cursor", 10));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el repositorio en dos niveles.
+ * Verifican que los pedidos cerrados pasan al archivo en disco y se siguen encontrando.
+ */
+class TieredOrderRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenArchiving_thenClosedOrdersMoveToDiskAndAreStillFound() throws IOException {
+        // Arrange
+        InMemoryOrderRepository hot = new InMemoryOrderRepository();
+        try (TieredOrderRepository repository = newRepository(hot)) {
+            Order confirmed = Order.create("123", 100.0);
+            confirmed.confirm();
+            Order cancelled = Order.create("123", 50.0);
+            cancelled.cancel();
+            Order pending = Order.create("123", 25.0);
+            repository.saveAll(List.of(confirmed, cancelled, pending));
+
+            // Act
+            long archived = repository.archiveClosedOrders();
+
+            // Assert
+            assertEquals(2, archived);
+            assertEquals(1, hot.size());
+            assertEquals(2, repository.archivedOrders());
+            assertEquals(Optional.of(confirmed), repository.findById(confirmed.getId()));
+            assertEquals(Optional.of(cancelled), repository.findById(cancelled.getId()));
+            assertEquals(3, repository.findByCustomerId("123").size());
+            assertEquals(List.of(confirmed), repository.findByStatus(OrderStatus.CONFIRMED));
+            assertEquals(3, repository.findAll().size());
+            assertEquals(3, repository.findByCreatedAtBetween(LocalDateTime.MIN, LocalDateTime.MAX).size());
+        }
+    }
+
+    @Test
+    void whenOrdersAreNotOldEnough_thenTheyStayInMemory() throws IOException {
+        // Arrange
+        InMemoryOrderRepository hot = new InMemoryOrderRepository();
+        try (TieredOrderRepository repository = new TieredOrderRepository(hot, directory, Duration.ofDays(30),
+                Duration.ZERO, 4, 1_000)) {
+            Order confirmed = Order.create("123", 100.0);
+            confirmed.confirm();
+            repository.save(confirmed);
+
+            // Act
+            long archived = repository.archiveClosedOrders();
+
+            // Assert
+            assertEquals(0, archived);
+            assertEquals(0, repository.archiveSegments());
+            assertEquals(1, hot.size());
+        }
+    }
+
+    @Test
+    void whenReopened_thenArchivedOrdersAreStillFound() throws IOException {
+        // Arrange
+        List<Order> orders = closedOrders(100);
+        try (TieredOrderRepository repository = newRepository(new InMemoryOrderRepository())) {
+            repository.saveAll(orders);
+            repository.archiveClosedOrders();
+        }
+
+        // Act
+        try (TieredOrderRepository reopened = newRepository(new InMemoryOrderRepository())) {
+
+            // Assert
+            assertEquals(orders.size(), reopened.archivedOrders());
+            for (Order order : orders) {
+                assertEquals(Optional.of(order), reopened.findById(order.getId()));
+            }
+            try (Stream<Order> all = reopened.streamAll()) {
+                assertEquals(orders.size(), all.count());
+            }
+        }
+    }
+
+    @Test
+    void whenSegmentsAreFull_thenArchiveUsesSeveralSegments() throws IOException {
+        // Arrange
+        try (TieredOrderRepository repository = newRepository(new InMemoryOrderRepository())) {
+            repository.saveAll(closedOrders(25));
+
+            // Act
+            repository.archiveClosedOrders();
+
+            // Assert
+            assertEquals(3, repository.archiveSegments());
+            assertEquals(25, repository.archivedOrders());
+        }
+    }
+
+    @Test
+    void whenLookingUpMissingOrders_thenBloomFiltersAvoidReadingSegments() throws IOException {
+        // Arrange
+        List<Order> orders = closedOrders(1_000);
+        try (TieredOrderRepository repository = new TieredOrderRepository(new InMemoryOrderRepository(), directory,
+                Duration.ZERO, Duration.ZERO, 64, 100_000)) {
+            repository.saveAll(orders);
+            repository.archiveClosedOrders();
+
+            // Act
+            for (Order order : orders) {
+                assertTrue(repository.findById(order.getId() + "x").isEmpty());
+                assertTrue(repository.findByCustomerId(order.getId()).isEmpty());
+            }
+
+            // Assert
+            assertTrue(repository.archiveSegmentReads() < 60, "reads=" + repository.archiveSegmentReads());
+            assertTrue(repository.archiveBloomSkips() > 1_900, "skips=" + repository.archiveBloomSkips());
+        }
+    }
+
+    @Test
+    void whenArchivedOrderIsSavedAgain_thenInMemoryCopyWins() throws IOException {
+        // Arrange
+        try (TieredOrderRepository repository = newRepository(new InMemoryOrderRepository())) {
+            Order order = Order.create("123", 100.0);
+            order.confirm();
+            repository.save(order);
+            repository.archiveClosedOrders();
+
+            // Act
+            Order updated = order.toBuilder().total(200.0).build();
+            repository.save(updated);
+
+            // Assert
+            assertEquals(200.0, repository.findById(order.getId()).orElseThrow().getTotal());
+            assertEquals(1, repository.findByCustomerId("123").size());
+            assertEquals(1, repository.findAll().size());
+        }
+    }
+
+    @Test
+    void whenArchivedOrderIsStillInMemory_thenItIsNotArchivedAgain() throws IOException {
+        // Arrange
+        InMemoryOrderRepository hot = new InMemoryOrderRepository();
+        try (TieredOrderRepository repository = newRepository(hot)) {
+            Order order = Order.create("123", 100.0);
+            order.confirm();
+            repository.save(order);
+            repository.archiveClosedOrders();
+            repository.save(order.toBuilder().total(200.0).build());
+
+            // Act
+            long archived = repository.archiveClosedOrders();
+
+            // Assert
+            assertEquals(0, archived);
+            assertEquals(1, hot.size());
+            assertEquals(1, repository.archivedOrders());
+            assertEquals(1, repository.findAll().size());
+            assertEquals(200.0, repository.findByCustomerId("123").get(0).getTotal());
+        }
+    }
+
+    private TieredOrderRepository newRepository(InMemoryOrderRepository hot) {
+        return new TieredOrderRepository(hot, directory, Duration.ZERO, Duration.ZERO, 4, 10);
+    }
+
+    private static List<Order> closedOrders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = Order.create("customer-" + (i % 7), i);
+            if (i % 2 == 0) {
+                order.confirm();
+            } else {
+                order.cancel();
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+}
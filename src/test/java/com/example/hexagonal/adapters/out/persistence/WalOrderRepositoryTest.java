@@ -0,0 +1,304 @@
+package com.example.hexagonal.adapters.out.persistence;
+
+import com.example.hexagonal.adapters.out.events.FileOrderEventSink;
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.events.SequencedOrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el repositorio WalOrderRepository.
+ * Estas pruebas verifican que los pedidos sobreviven a un reinicio.
+ */
+class WalOrderRepositoryTest {
+
+    @TempDir
+    Path directory;
+    
+    @Test
+    void whenReopened_thenSavedOrdersShouldBeRecovered() throws IOException {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        try (WalOrderRepository repository = new WalOrderRepository(directory)) {
+            repository.save(order);
+            order.confirm();
+            repository.save(order);
+        }
+        
+        // Act
+        try (WalOrderRepository reopened = new WalOrderRepository(directory)) {
+            Optional<Order> recovered = reopened.findById(order.getId());
+            
+            // Assert
+            assertTrue(recovered.isPresent());
+            assertEquals(order, recovered.get());
+            assertEquals(OrderStatus.CONFIRMED, recovered.get().getStatus());
+            assertEquals(1, reopened.findByCustomerId("123").size());
+        }
+    }
+    
+    @Test
+    void whenSavingConcurrently_thenWritesShouldShareFsyncs() throws Exception {
+        // Arrange
+        int threads = 16;
+        int ordersPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        try (WalOrderRepository repository = new WalOrderRepository(directory)) {
+            // Act
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < ordersPerThread; i++) {
+                        repository.save(Order.create("123", i));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+            
+            // Assert
+            assertEquals(threads * ordersPerThread, repository.appendedRecords());
+            assertTrue(repository.syncs() < repository.appendedRecords());
+        }
+        try (WalOrderRepository reopened = new WalOrderRepository(directory)) {
+            assertEquals(threads * ordersPerThread, reopened.findAll().size());
+        }
+    }
+    
+    @Test
+    void whenLastRecordIsTorn_thenItShouldBeDiscarded() throws IOException {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        try (WalOrderRepository repository = new WalOrderRepository(directory)) {
+            repository.save(order);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+        }
+        
+        // Act
+        try (WalOrderRepository reopened = new WalOrderRepository(directory)) {
+            Order other = Order.create("456", 50.0);
+            reopened.save(other);
+        }
+        
+        // Assert
+        try (WalOrderRepository reopened = new WalOrderRepository(directory)) {
+            assertEquals(2, reopened.findAll().size());
+        }
+    }
+    
+    @Test
+    void whenSnapshotTaken_thenRecoveryShouldCombineSnapshotAndLogTail() throws IOException {
+        // Arrange
+        Order beforeSnapshot = Order.create("123", 100.0);
+        Order afterSnapshot = Order.create("456", 200.0);
+        try (WalOrderRepository repository = new WalOrderRepository(directory, 1024, Duration.ZERO)) {
+            for (int i = 0; i < 50; i++) {
+                repository.save(Order.create("789", i));
+            }
+            repository.save(beforeSnapshot);
+            
+            // Act
+            assertEquals(51, repository.snapshot());
+            beforeSnapshot.confirm();
+            repository.save(beforeSnapshot);
+            repository.save(afterSnapshot);
+        }
+        
+        // Assert
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".snap")).count());
+        }
+        try (WalOrderRepository reopened = new WalOrderRepository(directory)) {
+            assertEquals(52, reopened.findAll().size());
+            assertEquals(OrderStatus.CONFIRMED, reopened.findById(beforeSnapshot.getId()).orElseThrow().getStatus());
+            assertTrue(reopened.findById(afterSnapshot.getId()).isPresent());
+        }
+    }
+    
+    @Test
+    void whenNothingChangedSinceLastSnapshot_thenSnapshotShouldBeSkipped() throws IOException {
+        // Arrange
+        try (WalOrderRepository repository = new WalOrderRepository(directory)) {
+            repository.save(Order.create("123", 100.0));
+            repository.snapshot();
+            
+            // Act & Assert
+            assertEquals(-1, repository.snapshot());
+        }
+    }
+    
+    @Test
+    void whenNothingChangedSinceLastSnapshotWithOutbox_thenSnapshotShouldBeSkipped() throws IOException {
+        // Arrange
+        try (WalOrderRepository repository = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            repository.save(Order.create("123", 100.0));
+            repository.snapshot();
+            
+            // Act & Assert
+            assertEquals(-1, repository.snapshot());
+            assertEquals(1, repository.pendingEventCount());
+        }
+    }
+    
+    @Test
+    void whenCompareAndSave_thenVersionShouldSurviveRestart() throws IOException {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        try (WalOrderRepository repository = new WalOrderRepository(directory)) {
+            repository.save(order);
+            Order stale = repository.findById(order.getId()).get();
+            order.confirm();
+            assertTrue(repository.compareAndSave(order));
+            stale.cancel();
+            assertFalse(repository.compareAndSave(stale));
+        }
+        
+        // Act
+        try (WalOrderRepository reopened = new WalOrderRepository(directory)) {
+            Order recovered = reopened.findById(order.getId()).get();
+            
+            // Assert
+            assertEquals(1, recovered.getVersion());
+            assertEquals(OrderStatus.CONFIRMED, recovered.getStatus());
+        }
+    }
+    
+    @Test
+    void whenOutboxEnabled_thenEventsShouldSurviveRestartUntilAcknowledged() throws IOException {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        try (WalOrderRepository repository = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            repository.save(order);
+            order.confirm();
+            assertTrue(repository.compareAndSave(order));
+            repository.save(order);
+        }
+        
+        // Act
+        List<SequencedOrderEvent> pending;
+        try (WalOrderRepository reopened = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            pending = reopened.pendingEvents(10);
+            reopened.acknowledgeEvents(pending.get(0).getSequence());
+        }
+        
+        // Assert
+        assertEquals(2, pending.size());
+        assertTrue(pending.get(0).getEvent() instanceof OrderCreated);
+        assertTrue(pending.get(1).getEvent() instanceof OrderConfirmed);
+        assertEquals(order.getId(), pending.get(1).getEvent().getOrderId());
+        assertTrue(pending.get(0).getSequence() < pending.get(1).getSequence());
+        try (WalOrderRepository reopened = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            assertEquals(List.of(pending.get(1)), reopened.pendingEvents(10));
+        }
+    }
+    
+    @Test
+    void whenSnapshotTaken_thenPendingEventsShouldBeCarriedForward() throws IOException {
+        // Arrange
+        List<SequencedOrderEvent> before;
+        try (WalOrderRepository repository = new WalOrderRepository(directory, 512, Duration.ZERO, true)) {
+            for (int i = 0; i < 20; i++) {
+                repository.save(Order.create("123", i));
+            }
+            repository.acknowledgeEvents(repository.pendingEvents(5).get(4).getSequence());
+            before = repository.pendingEvents(100);
+            
+            // Act
+            repository.snapshot();
+            repository.save(Order.create("456", 1.0));
+        }
+        
+        // Assert
+        try (WalOrderRepository reopened = new WalOrderRepository(directory, 512, Duration.ZERO, true)) {
+            List<SequencedOrderEvent> after = reopened.pendingEvents(100);
+            assertEquals(16, after.size());
+            assertEquals(before, after.subList(0, 15));
+            assertEquals("456", after.get(15).getEvent().getCustomerId());
+        }
+    }
+    
+    @Test
+    void whenSinkFails_thenRelayShouldRetryUntilEveryEventIsDelivered() throws Exception {
+        // Arrange
+        List<SequencedOrderEvent> delivered = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        try (WalOrderRepository repository = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            for (int i = 0; i < 50; i++) {
+                repository.save(Order.create("123", i));
+            }
+            
+            // Act
+            OutboxRelay relay = repository.startOutboxRelay(events -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Sink unavailable");
+                }
+                delivered.addAll(events);
+            }, 8, Duration.ofMillis(5));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (relay.pending() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            
+            // Assert
+            assertEquals(0, relay.pending());
+            assertEquals(50, relay.relayed());
+            assertEquals(1, relay.failures());
+            assertEquals(0, relay.lagMillis());
+        }
+        assertEquals(50, delivered.size());
+        for (int i = 1; i < delivered.size(); i++) {
+            assertTrue(delivered.get(i - 1).getSequence() < delivered.get(i).getSequence());
+        }
+        try (WalOrderRepository reopened = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            assertTrue(reopened.pendingEvents(10).isEmpty());
+        }
+    }
+    
+    @Test
+    void whenRelayClosed_thenPendingEventsShouldBeWrittenToTheFile() throws IOException {
+        // Arrange
+        Path events = directory.resolve("outbox").resolve("events.ndjson");
+        try (WalOrderRepository repository = new WalOrderRepository(directory, WalOrderRepository.DEFAULT_SEGMENT_BYTES,
+                Duration.ZERO, true)) {
+            repository.startOutboxRelay(new FileOrderEventSink(events), 100, Duration.ofMinutes(1));
+            
+            // Act
+            repository.save(Order.create("123", 10.0));
+            repository.save(Order.create("456", 20.0));
+        }
+        
+        // Assert
+        List<String> lines = Files.readAllLines(events);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"type\":\"OrderCreated\""));
+        assertTrue(lines.get(1).contains("\"customerId\":\"456\""));
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.hexagonal.application.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la caché de claves de idempotencia.
+ */
+class IdempotencyKeyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyKeyCache cache = new IdempotencyKeyCache(1_000, Duration.ofMinutes(1), clock::get);
+
+    @Test
+    void whenKeyIsRepeated_thenActionRunsOnce() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String first = cache.computeIfAbsent("key-1", 7, () -> "order-" + calls.incrementAndGet());
+        String second = cache.computeIfAbsent("key-1", 7, () -> "order-" + calls.incrementAndGet());
+
+        // Assert
+        assertEquals("order-1", first);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.replays());
+    }
+
+    @Test
+    void whenKeyIsReusedWithAnotherRequest_thenThrowException() {
+        // Arrange
+        cache.computeIfAbsent("key-1", 7, () -> "order-1");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("key-1", 8, () -> "order-2"));
+    }
+
+    @Test
+    void whenRequestsOnlyShareTheirHash_thenKeyReuseIsStillDetected() {
+        // Arrange
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        cache.computeIfAbsent("key-1", List.of("Aa", 100.0), () -> "order-1");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> cache.computeIfAbsent("key-1", List.of("BB", 100.0), () -> "order-2"));
+    }
+
+    @Test
+    void whenKeyExpires_thenActionRunsAgain() {
+        // Arrange
+        cache.computeIfAbsent("key-1", 7, () -> "order-1");
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        String afterExpiry = cache.computeIfAbsent("key-1", 7, () -> "order-2");
+
+        // Assert
+        assertEquals("order-2", afterExpiry);
+    }
+
+    @Test
+    void whenActionFails_thenKeyIsReleased() {
+        // Arrange
+        assertThrows(IllegalArgumentException.class, () -> cache.computeIfAbsent("key-1", 7, () -> {
+            throw new IllegalArgumentException("invalid");
+        }));
+
+        // Act
+        String retried = cache.computeIfAbsent("key-1", 7, () -> "order-1");
+
+        // Assert
+        assertEquals("order-1", retried);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void whenMoreKeysThanTheMaximum_thenOldestAreEvicted() {
+        // Arrange
+        IdempotencyKeyCache small = new IdempotencyKeyCache(16, Duration.ofMinutes(1), clock::get);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            small.computeIfAbsent("key-" + i, i, () -> "order");
+        }
+
+        // Assert
+        assertTrue(small.size() <= 16, "size=" + small.size());
+        assertTrue(small.evictions() > 0);
+    }
+
+    @Test
+    void whenSegmentIsFull_thenKeysInProgressAreNotEvicted() throws Exception {
+        // Arrange
+        IdempotencyKeyCache small = new IdempotencyKeyCache(16, Duration.ofMinutes(1), clock::get);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> small.computeIfAbsent("key-pending", 7, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "order-1";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act
+            for (int i = 0; i < 1_000; i++) {
+                small.computeIfAbsent("key-" + i, i, () -> "order");
+            }
+            Future<String> retry = executor.submit(() -> small.computeIfAbsent("key-pending", 7, () -> {
+                calls.incrementAndGet();
+                return "order-2";
+            }));
+            while (small.replays() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Assert
+            assertEquals("order-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("order-1", retry.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenKeyIsNotValid_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cache.computeIfAbsent("", 7, () -> "order-1"));
+        String tooLong = new String(new char[IdempotencyKeyCache.MAX_KEY_LENGTH + 1]).replace('\0', 'k');
+        assertThrows(IllegalArgumentException.class, () -> cache.computeIfAbsent(tooLong, 7, () -> "order-1"));
+    }
+
+    @Test
+    void whenSameKeyArrivesConcurrently_thenOthersWaitForTheFirst() throws Exception {
+        // Arrange
+        int threads = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.computeIfAbsent("key-1", 7, () -> {
+                    calls.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "order-1";
+                })));
+            }
+            while (cache.replays() < threads - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("order-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
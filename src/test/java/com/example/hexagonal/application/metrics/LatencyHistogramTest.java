@@ -0,0 +1,53 @@
+package com.example.hexagonal.application.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el histograma de latencias.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void whenRecordingValues_thenPercentilesShouldBeWithinTwoPercent() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        // Act
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        // Assert
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000_000, snapshot.getMaxNanos());
+        assertEquals(50_000_000, snapshot.valueAtPercentile(50), 50_000_000 * 0.02);
+        assertEquals(99_000_000, snapshot.valueAtPercentile(99), 99_000_000 * 0.02);
+        assertEquals(99_900_000, snapshot.valueAtPercentile(99.9), 99_900_000 * 0.02);
+    }
+    
+    @Test
+    void whenIndexingValues_thenEveryBucketShouldContainItsValues() {
+        // Assert: los límites de cada cubeta son contiguos y contienen los valores que indexan
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueAt(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueAt(index - 1) < value);
+        }
+    }
+    
+    @Test
+    void whenValueIsHuge_thenItShouldBeClampedInsteadOfFailing() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        // Act
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        
+        // Assert
+        assertEquals(2, histogram.snapshot().getCount());
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.hexagonal.application.pipeline;
+
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderRepository;
+import com.example.hexagonal.application.metrics.MetricSnapshot;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.domain.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el decorador que agrupa escrituras en lotes.
+ */
+class MicroBatchingOrderRepositoryTest {
+
+    private CountingRepository delegate;
+    private MetricsRegistry metricsRegistry;
+    private MicroBatchingOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new CountingRepository();
+        metricsRegistry = new MetricsRegistry();
+        repository = new MicroBatchingOrderRepository(delegate, 64, 5_000, 1024, metricsRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    void whenManyThreadsSaveAtOnce_thenWritesShouldBeGroupedIntoFewerBatches() throws Exception {
+        // Arrange
+        int writers = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Order>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < writers; i++) {
+            Order order = Order.create("123", i);
+            results.add(executor.submit(() -> {
+                start.await();
+                return repository.save(order);
+            }));
+        }
+        start.countDown();
+        for (Future<Order> result : results) {
+            Order saved = result.get(10, TimeUnit.SECONDS);
+            assertTrue(repository.findById(saved.getId()).isPresent());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(delegate.saveAllCalls.get() < writers, "batches: " + delegate.saveAllCalls.get());
+        assertEquals(repository.batches(), metric("OrderRepository.batch.size").getCalls());
+        assertEquals(writers, metric("OrderRepository.batch.queueDelay").getCalls());
+    }
+
+    @Test
+    void whenCompareAndSave_thenVersionShouldBeCheckedByTheBatch() {
+        // Arrange
+        Order order = Order.create("123", 100.0);
+        repository.save(order);
+        Order stale = order.toBuilder().build();
+
+        // Act
+        boolean first = repository.compareAndSave(order);
+        boolean second = repository.compareAndSave(stale);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, order.getVersion());
+        assertEquals(1, repository.findById(order.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void whenBatchFails_thenEveryCallerShouldSeeTheError() {
+        // Arrange
+        delegate.failNextBatch = true;
+
+        // Act & Assert
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> repository.save(Order.create("123", 100.0)));
+        assertEquals("disk full", failure.getMessage());
+    }
+
+    @Test
+    void whenClosed_thenNewWritesShouldBeRejected() throws Exception {
+        // Act
+        repository.close();
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> repository.save(Order.create("123", 100.0)));
+    }
+
+    @Test
+    void whenClosedWhileWriting_thenEveryWriterShouldReturn() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            writers.add(executor.submit(() -> {
+                try {
+                    while (true) {
+                        repository.save(Order.create("123", 100.0));
+                    }
+                } catch (IllegalStateException e) {
+                    // Rechazada por el cierre
+                }
+            }));
+        }
+        Thread.sleep(50);
+
+        // Act
+        repository.close();
+
+        // Assert
+        for (Future<?> writer : writers) {
+            writer.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void whenSettingsAreInvalid_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new MicroBatchingOrderRepository(delegate, 0, 100, 1024, metricsRegistry));
+    }
+
+    private MetricSnapshot metric(String name) {
+        return metricsRegistry.snapshot().stream()
+                .filter(snapshot -> snapshot.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static class CountingRepository extends InMemoryOrderRepository {
+
+        final AtomicInteger saveAllCalls = new AtomicInteger();
+        volatile boolean failNextBatch;
+
+        @Override
+        public List<Order> saveAll(List<Order> orders) {
+            saveAllCalls.incrementAndGet();
+            if (failNextBatch) {
+                failNextBatch = false;
+                throw new IllegalStateException("disk full");
+            }
+            return super.saveAll(orders);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hexagonal.application.projection;
+
+import com.example.hexagonal.adapters.out.events.RingBufferOrderEventBus;
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderReadModel;
+import com.example.hexagonal.adapters.out.persistence.InMemoryOrderRepository;
+import com.example.hexagonal.application.metrics.MetricsRegistry;
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.events.OrderEvent;
+import com.example.hexagonal.domain.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el proyector del modelo de lectura.
+ */
+class OrderReadModelProjectorTest {
+
+    @Test
+    void whenSubscriberIsBlocked_thenStalenessShouldKeepGrowing() throws InterruptedException {
+        // Arrange
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(1024, metricsRegistry);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryOrderReadModel readModel = new InMemoryOrderReadModel() {
+            @Override
+            public void apply(OrderEvent event) {
+                super.apply(event);
+                if (size() == 2) {
+                    blocked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        OrderReadModelProjector projector =
+                new OrderReadModelProjector(readModel, new InMemoryOrderRepository(), metricsRegistry);
+        RingBufferOrderEventBus.Subscription subscription = bus.subscribe("readModel", projector::onEvent);
+        try {
+            bus.publish(OrderCreated.of(Order.create("123", 100.0)));
+            bus.publish(OrderCreated.of(Order.create("123", 200.0)));
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            // Act
+            long before = projector.stalenessMillis(subscription.lag());
+            Thread.sleep(100);
+            long after = projector.stalenessMillis(subscription.lag());
+
+            // Assert
+            assertTrue(subscription.lag() > 0);
+            assertTrue(after >= before + 50, "before=" + before + ", after=" + after);
+        } finally {
+            release.countDown();
+            bus.close();
+        }
+        assertEquals(0, projector.stalenessMillis(subscription.lag()));
+    }
+}
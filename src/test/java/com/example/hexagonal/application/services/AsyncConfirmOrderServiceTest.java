@@ -0,0 +1,80 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.AsyncOrderRepository;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el servicio de aplicación AsyncConfirmOrderService.
+ * Estas pruebas utilizan mocks para simular el comportamiento del repositorio.
+ */
+@ExtendWith(MockitoExtension.class)
+class AsyncConfirmOrderServiceTest {
+
+    @Mock
+    private AsyncOrderRepository asyncOrderRepository;
+    
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+    
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+    
+    @InjectMocks
+    private AsyncConfirmOrderService asyncConfirmOrderService;
+    
+    @Test
+    void whenOrderChangesConcurrently_thenShouldRetryWithFreshState() {
+        // Arrange
+        Order stale = Order.create("123", 100.0);
+        Order fresh = stale.toBuilder().version(1).build();
+        when(asyncOrderRepository.findByIdAsync(stale.getId())).thenReturn(
+                CompletableFuture.completedFuture(Optional.of(stale)),
+                CompletableFuture.completedFuture(Optional.of(fresh)));
+        when(asyncOrderRepository.compareAndSaveAsync(any(Order.class))).thenReturn(
+                CompletableFuture.completedFuture(false),
+                CompletableFuture.completedFuture(true));
+        
+        // Act
+        Order result = asyncConfirmOrderService.confirmOrderAsync(stale.getId()).join();
+        
+        // Assert
+        assertSame(fresh, result);
+        assertEquals(OrderStatus.CONFIRMED, result.getStatus());
+        verify(asyncOrderRepository, times(2)).compareAndSaveAsync(any(Order.class));
+        verify(customerStatsRepository, times(1)).orderStatusChanged(fresh, OrderStatus.PENDING);
+        verify(orderEventPublisher, times(1)).publish(any(OrderConfirmed.class));
+    }
+    
+    @Test
+    void whenConfirmNonExistingOrder_thenFutureShouldFail() {
+        // Arrange
+        when(asyncOrderRepository.findByIdAsync("missing"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        
+        // Act
+        CompletableFuture<Order> result = asyncConfirmOrderService.confirmOrderAsync("missing");
+        
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertTrue(failure.getCause() instanceof NoSuchElementException);
+        verify(asyncOrderRepository, never()).compareAndSaveAsync(any(Order.class));
+    }
+}
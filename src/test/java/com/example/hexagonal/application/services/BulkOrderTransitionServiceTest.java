@@ -0,0 +1,149 @@
+package com.example.hexagonal.application.services;
+
+import com.example.hexagonal.domain.events.OrderCancelled;
+import com.example.hexagonal.domain.events.OrderConfirmed;
+import com.example.hexagonal.domain.model.BatchItemResult;
+import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.model.OrderTransition;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
+import com.example.hexagonal.domain.ports.out.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el servicio de aplicación BulkOrderTransitionService.
+ * Estas pruebas utilizan mocks para simular el comportamiento del repositorio.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkOrderTransitionServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+    
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+    
+    @InjectMocks
+    private BulkOrderTransitionService bulkOrderTransitionService;
+    
+    private Order pending;
+    private Order cancelled;
+    
+    @BeforeEach
+    void setUp() {
+        pending = Order.create("123", 100.0);
+        cancelled = Order.create("456", 200.0);
+        cancelled.cancel();
+    }
+    
+    @Test
+    void whenConfirmInBulk_thenEachOrderShouldGetItsOwnResult() {
+        // Arrange
+        when(orderRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(pending, cancelled));
+        when(orderRepository.compareAndSaveAll(anyList())).thenReturn(Collections.singletonList(true));
+        
+        // Act
+        List<BatchItemResult> results = bulkOrderTransitionService.transitionOrders(
+                Arrays.asList(pending.getId(), cancelled.getId(), "missing"), OrderTransition.CONFIRM);
+        
+        // Assert
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(OrderStatus.CONFIRMED, results.get(0).getOrder().getStatus());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("missing", results.get(2).getOrderId());
+        verify(orderRepository, times(1)).findAllById(anyCollection());
+        verify(orderRepository, times(1)).compareAndSaveAll(anyList());
+        verify(orderRepository, never()).findById(any());
+        verify(customerStatsRepository, times(1)).orderStatusChanged(pending, OrderStatus.PENDING);
+        verify(orderEventPublisher, times(1)).publish(any(OrderConfirmed.class));
+    }
+    
+    @Test
+    void whenOrderChangesConcurrently_thenOnlyThatOrderShouldBeRetried() {
+        // Arrange
+        Order other = Order.create("789", 300.0);
+        Order fresh = pending.toBuilder().version(1).build();
+        when(orderRepository.findAllById(anyCollection()))
+                .thenReturn(Arrays.asList(pending, other), Collections.singletonList(fresh));
+        when(orderRepository.compareAndSaveAll(anyList()))
+                .thenReturn(Arrays.asList(false, true), Collections.singletonList(true));
+        
+        // Act
+        List<BatchItemResult> results = bulkOrderTransitionService.transitionOrders(
+                Arrays.asList(pending.getId(), other.getId()), OrderTransition.CANCEL);
+        
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertSame(fresh, results.get(0).getOrder());
+        assertTrue(results.get(1).isSuccess());
+        verify(orderRepository, times(2)).findAllById(anyCollection());
+        verify(orderRepository, times(2)).compareAndSaveAll(anyList());
+        verify(customerStatsRepository, times(2)).orderStatusChanged(any(Order.class), eq(OrderStatus.PENDING));
+        verify(orderEventPublisher, times(2)).publish(any(OrderCancelled.class));
+    }
+    
+    @Test
+    void whenOrderIsAlreadyInTargetStatus_thenShouldSucceedWithoutSaving() {
+        // Arrange
+        pending.confirm();
+        when(orderRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(pending));
+        
+        // Act
+        List<BatchItemResult> results = bulkOrderTransitionService.transitionOrders(
+                Arrays.asList(pending.getId(), null, " "), OrderTransition.CONFIRM);
+        
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(OrderStatus.CONFIRMED, results.get(0).getOrder().getStatus());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        verify(orderRepository).findAllById(Collections.singleton(pending.getId()));
+        verify(orderRepository, never()).compareAndSaveAll(anyList());
+        verifyNoInteractions(customerStatsRepository, orderEventPublisher);
+    }
+    
+    @Test
+    void whenBatchWriteFailsHalfway_thenPersistedOrdersShouldStillSucceed() {
+        // Arrange
+        Order other = Order.create("789", 300.0);
+        Order persisted = pending.toBuilder().status(OrderStatus.CONFIRMED).version(1).build();
+        when(orderRepository.findAllById(anyCollection()))
+                .thenReturn(Arrays.asList(pending, other), Arrays.asList(persisted, other));
+        when(orderRepository.compareAndSaveAll(anyList())).thenThrow(new IllegalStateException("disk full"));
+        
+        // Act
+        List<BatchItemResult> results = bulkOrderTransitionService.transitionOrders(
+                Arrays.asList(pending.getId(), other.getId()), OrderTransition.CONFIRM);
+        
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(1, results.get(0).getOrder().getVersion());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("disk full", results.get(1).getError());
+        verify(orderRepository, times(1)).compareAndSaveAll(anyList());
+        verify(customerStatsRepository, times(1)).orderStatusChanged(pending, OrderStatus.PENDING);
+        verify(orderEventPublisher, times(1)).publish(any(OrderConfirmed.class));
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.hexagonal.application.services;
 
+import com.example.hexagonal.domain.events.OrderConfirmed;
 import com.example.hexagonal.domain.model.Order;
 import com.example.hexagonal.domain.model.OrderStatus;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
 import com.example.hexagonal.domain.ports.out.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,10 +13,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -26,6 +31,12 @@ class ConfirmOrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+    
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+    
     @InjectMocks
     private ConfirmOrderService confirmOrderService;
     
@@ -35,14 +46,14 @@ class ConfirmOrderServiceTest {
     @BeforeEach
     void setUp() {
         orderId = "123";
-        order = Order.create("456", "Cliente Test", 100.0);
+        order = Order.create("456", 100.0);
     }
     
     @Test
     void whenConfirmExistingOrder_thenOrderShouldBeConfirmed() {
         // Arrange
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.compareAndSave(any(Order.class))).thenReturn(true);
         
         // Act
         Order result = confirmOrderService.confirmOrder(orderId);
@@ -51,7 +62,28 @@ class ConfirmOrderServiceTest {
         assertNotNull(result);
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
         verify(orderRepository).findById(orderId);
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).compareAndSave(any(Order.class));
+        verify(customerStatsRepository).orderStatusChanged(result, OrderStatus.PENDING);
+        verify(orderEventPublisher).publish(any(OrderConfirmed.class));
+    }
+    
+    @Test
+    void whenOrderChangesConcurrently_thenShouldRetryWithFreshState() {
+        // Arrange
+        Order stale = order.toBuilder().build();
+        Order fresh = order.toBuilder().version(1).build();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(orderRepository.compareAndSave(any(Order.class))).thenReturn(false, true);
+        
+        // Act
+        Order result = confirmOrderService.confirmOrder(orderId);
+        
+        // Assert
+        assertSame(fresh, result);
+        assertEquals(OrderStatus.CONFIRMED, result.getStatus());
+        verify(orderRepository, times(2)).compareAndSave(any(Order.class));
+        verify(customerStatsRepository, times(1)).orderStatusChanged(any(Order.class), eq(OrderStatus.PENDING));
+        verify(orderEventPublisher, times(1)).publish(any(OrderConfirmed.class));
     }
     
     @Test
@@ -60,27 +92,28 @@ class ConfirmOrderServiceTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
         
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> 
+        assertThrows(NoSuchElementException.class, () -> 
             confirmOrderService.confirmOrder(orderId)
         );
         
         // Verify that save was never called
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).compareAndSave(any(Order.class));
     }
     
     @Test
-    void whenConfirmAlreadyConfirmedOrder_thenShouldThrowException() {
+    void whenConfirmAlreadyConfirmedOrder_thenShouldReturnItWithoutSaving() {
         // Arrange
         order.confirm();
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         
-        // Act & Assert
-        assertThrows(IllegalStateException.class, () -> 
-            confirmOrderService.confirmOrder(orderId)
-        );
+        // Act
+        Order result = confirmOrderService.confirmOrder(orderId);
+        
+        // Assert
+        assertEquals(OrderStatus.CONFIRMED, result.getStatus());
         
         // Verify that save was never called
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).compareAndSave(any(Order.class));
     }
     
     @Test
@@ -95,6 +128,6 @@ class ConfirmOrderServiceTest {
         );
         
         // Verify that save was never called
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).compareAndSave(any(Order.class));
     }
 } 
\ No newline at end of file
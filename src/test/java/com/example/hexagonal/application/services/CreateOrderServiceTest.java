@@ -1,16 +1,25 @@
 package com.example.hexagonal.application.services;
 
+import com.example.hexagonal.domain.events.OrderCreated;
+import com.example.hexagonal.domain.model.BatchItemResult;
 import com.example.hexagonal.domain.model.Order;
+import com.example.hexagonal.domain.model.TimeOrderedIdGenerator;
+import com.example.hexagonal.domain.ports.in.CreateOrderCommand;
+import com.example.hexagonal.domain.ports.out.CustomerStatsRepository;
+import com.example.hexagonal.domain.ports.out.OrderEventPublisher;
 import com.example.hexagonal.domain.ports.out.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -23,7 +32,12 @@ class CreateOrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     
-    @InjectMocks
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+    
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+    
     private CreateOrderService createOrderService;
     
     private String customerId;
@@ -32,9 +46,11 @@ class CreateOrderServiceTest {
     
     @BeforeEach
     void setUp() {
+        createOrderService = new CreateOrderService(orderRepository, TimeOrderedIdGenerator.forNode(0),
+                customerStatsRepository, orderEventPublisher);
         customerId = "123";
         amount = 100.0;
-        expectedOrder = Order.create(customerId, "Cliente Test", amount);
+        expectedOrder = Order.create(customerId, amount);
     }
     
     @Test
@@ -48,8 +64,10 @@ class CreateOrderServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(customerId, result.getCustomerId());
-        assertEquals(amount, result.getAmount());
+        assertEquals(amount, result.getTotal());
         verify(orderRepository).save(any(Order.class));
+        verify(customerStatsRepository).orderCreated(expectedOrder);
+        verify(orderEventPublisher).publish(any(OrderCreated.class));
     }
     
     @Test
@@ -64,6 +82,7 @@ class CreateOrderServiceTest {
         
         // Verify that the repository was never called
         verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(customerStatsRepository, orderEventPublisher);
     }
     
     @Test
@@ -93,4 +112,30 @@ class CreateOrderServiceTest {
         // Verify that the repository was never called
         verify(orderRepository, never()).save(any(Order.class));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void whenCreateOrdersInBatch_thenValidOrdersShouldBeSavedTogether() {
+        // Arrange
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<CreateOrderCommand> commands = Arrays.asList(
+                new CreateOrderCommand("123", 100.0),
+                new CreateOrderCommand("", 50.0),
+                new CreateOrderCommand("456", 200.0),
+                null);
+        
+        // Act
+        List<BatchItemResult> results = createOrderService.createOrders(commands);
+        
+        // Assert
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals("456", results.get(2).getOrder().getCustomerId());
+        assertFalse(results.get(3).isSuccess());
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(customerStatsRepository, times(2)).orderCreated(any(Order.class));
+        verify(orderEventPublisher, times(2)).publish(any(OrderCreated.class));
+    }
+}
@@ -14,20 +14,20 @@ class OrderTest {
         // Arrange & Act
         String customerId = "123";
         double amount = 100.0;
-        Order order = Order.create(customerId, "Cliente Test", amount);
+        Order order = Order.create(customerId, amount);
         
         // Assert
         assertNotNull(order);
         assertNotNull(order.getId());
         assertEquals(customerId, order.getCustomerId());
-        assertEquals(amount, order.getAmount());
+        assertEquals(amount, order.getTotal());
         assertEquals(OrderStatus.PENDING, order.getStatus());
     }
 
     @Test
     void whenConfirmOrder_thenStatusShouldBeConfirmed() {
         // Arrange
-        Order order = Order.create("123", "Cliente Test", 100.0);
+        Order order = Order.create("123", 100.0);
         
         // Act
         order.confirm();
@@ -39,7 +39,7 @@ class OrderTest {
     @Test
     void whenCancelOrder_thenStatusShouldBeCancelled() {
         // Arrange
-        Order order = Order.create("123", "Cliente Test", 100.0);
+        Order order = Order.create("123", 100.0);
         
         // Act
         order.cancel();
@@ -49,29 +49,35 @@ class OrderTest {
     }
 
     @Test
-    void whenConfirmAlreadyConfirmedOrder_thenShouldThrowException() {
+    void whenConfirmAlreadyConfirmedOrder_thenStatusShouldStayConfirmed() {
         // Arrange
-        Order order = Order.create("123", "Cliente Test", 100.0);
+        Order order = Order.create("123", 100.0);
         order.confirm();
         
-        // Act & Assert
-        assertThrows(IllegalStateException.class, () -> order.confirm());
+        // Act
+        order.confirm();
+        
+        // Assert
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
     }
 
     @Test
-    void whenCancelAlreadyCancelledOrder_thenShouldThrowException() {
+    void whenCancelAlreadyCancelledOrder_thenStatusShouldStayCancelled() {
         // Arrange
-        Order order = Order.create("123", "Cliente Test", 100.0);
+        Order order = Order.create("123", 100.0);
         order.cancel();
         
-        // Act & Assert
-        assertThrows(IllegalStateException.class, () -> order.cancel());
+        // Act
+        order.cancel();
+        
+        // Assert
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
     }
 
     @Test
     void whenConfirmCancelledOrder_thenShouldThrowException() {
         // Arrange
-        Order order = Order.create("123", "Cliente Test", 100.0);
+        Order order = Order.create("123", 100.0);
         order.cancel();
         
         // Act & Assert
@@ -81,7 +87,7 @@ class OrderTest {
     @Test
     void whenCancelConfirmedOrder_thenShouldThrowException() {
         // Arrange
-        Order order = Order.create("123", "Cliente Test", 100.0);
+        Order order = Order.create("123", 100.0);
         order.confirm();
         
         // Act & Assert
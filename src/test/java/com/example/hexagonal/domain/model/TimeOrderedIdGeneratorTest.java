@@ -0,0 +1,123 @@
+package com.example.hexagonal.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el generador de IDs ordenados por tiempo.
+ */
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void whenGenerateIds_thenTheyAreFixedLengthAndSortedByCreation() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, clock::get);
+        List<String> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                clock.addAndGet(1);
+            }
+            ids.add(generator.nextId());
+        }
+
+        // Assert
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(TimeOrderedIdGenerator.LENGTH, ids.get(i).length());
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+    }
+
+    @Test
+    void whenSequenceOverflowsWithinAMillisecond_thenIdsKeepIncreasing() {
+        // Arrange
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, () -> NOW);
+
+        // Act
+        long previous = generator.nextValue();
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextValue();
+
+            // Assert
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void whenClockGoesBackwards_thenIdsKeepIncreasing() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock::get);
+        String before = generator.nextId();
+
+        // Act
+        clock.addAndGet(-60_000);
+        String after = generator.nextId();
+
+        // Assert
+        assertTrue(before.compareTo(after) < 0);
+    }
+
+    @Test
+    void whenDifferentNodesInTheSameMillisecond_thenIdsDiffer() {
+        // Arrange
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(1, () -> NOW);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(2, () -> NOW);
+
+        // Act & Assert
+        assertNotEquals(first.nextId(), second.nextId());
+    }
+
+    @Test
+    void whenNodeIsOutOfRange_thenThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedIdGenerator.forNode(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> TimeOrderedIdGenerator.forNode(TimeOrderedIdGenerator.MAX_NODE + 1));
+    }
+
+    @Test
+    void whenRequestingTheSameNode_thenReturnTheSameGenerator() {
+        // Act & Assert
+        assertSame(TimeOrderedIdGenerator.forNode(3), TimeOrderedIdGenerator.forNode(3));
+    }
+
+    @Test
+    void whenGeneratingConcurrently_thenIdsAreUnique() throws InterruptedException {
+        // Arrange
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.forNode(0);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        List<Thread> workers = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertEquals(threads * perThread, ids.size());
+    }
+}